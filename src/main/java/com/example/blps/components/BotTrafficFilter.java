@@ -0,0 +1,121 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.monitoring.BotFilterStatsDTO;
+import com.example.blps.utils.CidrTrie;
+import com.example.blps.utils.IpKey;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class BotTrafficFilter {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final Map<Long, LongAdder> botClicksByCampaign = new ConcurrentHashMap<>();
+    private final LongAdder botClicks = new LongAdder();
+
+    private volatile CidrTrie ranges = new CidrTrie();
+    private volatile long loadedAtMillis;
+
+    public BotTrafficFilter(ResourceLoader resourceLoader,
+                            @Value("${click.bot.ranges.location:}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (location.isBlank()) {
+            log.info("Bot traffic filter disabled, no click.bot.ranges.location configured");
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load bot ranges from {}, all clicks will be treated as human: {}", location, e.getMessage());
+        }
+    }
+
+    public synchronized void reload() throws IOException {
+        if (location.isBlank()) {
+            throw new IllegalStateException("click.bot.ranges.location is not configured");
+        }
+
+        Resource resource = resourceLoader.getResource(location);
+        CidrTrie loaded = new CidrTrie();
+        int skipped = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String cidr = (comment < 0 ? line : line.substring(0, comment)).trim();
+                if (cidr.isEmpty()) {
+                    continue;
+                }
+                try {
+                    loaded.add(cidr);
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    log.debug("Skipping invalid bot range: {}", cidr);
+                }
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} invalid bot ranges in {}", skipped, location);
+        }
+
+        ranges = loaded;
+        loadedAtMillis = System.currentTimeMillis();
+        log.info("Bot ranges loaded from {}: {} prefixes", location, loaded.getPrefixCount());
+    }
+
+    public boolean isBot(IpKey ip) {
+        return ip != null && ranges.contains(ip);
+    }
+
+    public void recordBotClick(Long campaignId) {
+        botClicks.increment();
+        LongAdder counter = botClicksByCampaign.get(campaignId);
+        if (counter == null) {
+            counter = botClicksByCampaign.computeIfAbsent(campaignId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public long getBotClicks(Long campaignId) {
+        LongAdder counter = botClicksByCampaign.get(campaignId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public void clearCampaign(Long campaignId) {
+        botClicksByCampaign.remove(campaignId);
+    }
+
+    public BotFilterStatsDTO getStats() {
+        Map<Long, Long> byCampaign = new TreeMap<>();
+        botClicksByCampaign.forEach((campaignId, counter) -> byCampaign.put(campaignId, counter.sum()));
+        return BotFilterStatsDTO.builder()
+                .enabled(!location.isBlank())
+                .location(location)
+                .prefixes(ranges.getPrefixCount())
+                .loadedAtMillis(loadedAtMillis)
+                .botClicks(botClicks.sum())
+                .botClicksByCampaign(byCampaign)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.blps.components;
+
+import com.example.blps.service.data.MetricService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+@Component
+@Slf4j
+public class ClickAggregator {
+
+    private final MetricService metricService;
+    private final ClickJournal clickJournal;
+    private final StampedLock epochLock = new StampedLock();
+    private final Map<Long, LongAdder> pendingClicks = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+
+    @Value("${click.aggregator.flush.interval.ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${click.aggregator.max.pending.clicks:5000}")
+    private long maxPendingClicks;
+
+    private ScheduledExecutorService flusher;
+
+    public ClickAggregator(MetricService metricService, ClickJournal clickJournal) {
+        this.metricService = metricService;
+        this.clickJournal = clickJournal;
+    }
+
+    @PostConstruct
+    public void start() {
+        clickJournal.replay().forEach(this::restore);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-aggregator-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Click aggregator started: flushInterval={} ms, maxPendingClicks={}", flushIntervalMs, maxPendingClicks);
+    }
+
+    public void recordClick(Long campaignId, int ipHash) {
+        LongAdder counter = pendingClicks.get(campaignId);
+        if (counter == null) {
+            counter = pendingClicks.computeIfAbsent(campaignId, id -> new LongAdder());
+        }
+
+        long stamp = epochLock.readLock();
+        try {
+            clickJournal.append(campaignId, System.currentTimeMillis(), ipHash);
+            counter.increment();
+        } finally {
+            epochLock.unlockRead(stamp);
+        }
+        pendingTotal.increment();
+
+        if (pendingTotal.sum() >= maxPendingClicks && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushSafely);
+        }
+    }
+
+    public long getPendingClicks() {
+        return pendingTotal.sum();
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+
+            Map<Long, Long> deltas;
+            long sealedSequence;
+            long stamp = epochLock.writeLock();
+            try {
+                sealedSequence = clickJournal.seal();
+                deltas = drain();
+            } finally {
+                epochLock.unlockWrite(stamp);
+            }
+
+            if (deltas.isEmpty()) {
+                clickJournal.release(sealedSequence);
+                return;
+            }
+
+            try {
+                metricService.applyClickDeltas(deltas);
+                clickJournal.release(sealedSequence);
+                log.debug("Flushed clicks for {} campaigns", deltas.size());
+            } catch (RuntimeException e) {
+                deltas.forEach(this::restore);
+                throw e;
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error flushing aggregated clicks, will retry on next flush: {}", e.getMessage());
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        long drained = 0;
+        for (Map.Entry<Long, LongAdder> entry : pendingClicks.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+                drained += delta;
+            }
+        }
+        pendingTotal.add(-drained);
+        return deltas;
+    }
+
+    private void restore(Long campaignId, Long delta) {
+        pendingClicks.computeIfAbsent(campaignId, id -> new LongAdder()).add(delta);
+        pendingTotal.add(delta);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMs * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.data.DedupStatsDTO;
+import com.example.blps.utils.HierarchicalTimingWheel;
+import com.example.blps.utils.IpKey;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ClickDeduplicator {
+
+    private final Map<Long, Long> expiries = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> duplicatesByCampaign = new ConcurrentHashMap<>();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    @Value("${click.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${click.dedup.window.seconds:1800}")
+    private long windowSeconds;
+
+    @Value("${click.dedup.tick.ms:1000}")
+    private long tickMs;
+
+    @Value("${click.dedup.max.entries:1000000}")
+    private int maxEntries;
+
+    private HierarchicalTimingWheel timingWheel;
+    private long windowTicks;
+    private long startMillis;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        startMillis = System.currentTimeMillis();
+        windowTicks = Math.max(1, TimeUnit.SECONDS.toMillis(windowSeconds) / tickMs);
+        timingWheel = new HierarchicalTimingWheel(0);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-dedup-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Click deduplicator started: enabled={}, window={} s, maxEntries={}", enabled, windowSeconds, maxEntries);
+    }
+
+    public boolean isDuplicate(Long campaignId, IpKey clientIp, String referralHash) {
+        if (!enabled) {
+            return false;
+        }
+
+        long key = Hashing.murmur3_128().newHasher()
+                .putLong(clientIp.getHi())
+                .putLong(clientIp.getLo())
+                .putString(referralHash, StandardCharsets.UTF_8)
+                .hash().asLong();
+        long now = currentTick();
+
+        Long expiry = expiries.get(key);
+        if (expiry != null && expiry > now) {
+            recordDuplicate(campaignId);
+            return true;
+        }
+
+        if (expiry == null && expiries.size() >= maxEntries) {
+            overflows.increment();
+            return false;
+        }
+
+        long newExpiry = now + windowTicks;
+        boolean inserted = expiry == null
+                ? expiries.putIfAbsent(key, newExpiry) == null
+                : expiries.replace(key, expiry, newExpiry);
+        if (!inserted) {
+            recordDuplicate(campaignId);
+            return true;
+        }
+
+        timingWheel.schedule(key, newExpiry);
+        return false;
+    }
+
+    public DedupStatsDTO getStats() {
+        return DedupStatsDTO.builder()
+                .trackedKeys(expiries.size())
+                .duplicates(duplicates.sum())
+                .overflows(overflows.sum())
+                .duplicatesByCampaign(duplicatesByCampaign.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum())))
+                .build();
+    }
+
+    private void recordDuplicate(Long campaignId) {
+        duplicates.increment();
+        duplicatesByCampaign.computeIfAbsent(campaignId, id -> new LongAdder()).increment();
+    }
+
+    private long currentTick() {
+        return (System.currentTimeMillis() - startMillis) / tickMs;
+    }
+
+    private void advance() {
+        try {
+            timingWheel.advanceTo(currentTick(), key -> expiries.computeIfPresent(key,
+                    (k, expiry) -> expiry <= timingWheel.getCurrentTick() ? null : expiry));
+        } catch (Exception e) {
+            log.error("Error advancing click dedup timing wheel: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.blps.components;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ClickJournal {
+
+    static final int RECORD_SIZE = 24;
+    private static final int RECORD_MARKER = 0x434C4B31;
+    private static final String SEGMENT_PREFIX = "clicks-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String LOCK_FILE = "journal.lock";
+
+    @Value("${click.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${click.journal.dir:./data/click-journal/${spring.application.name}}")
+    private String journalDir;
+
+    @Value("${click.journal.segment.records:65536}")
+    private int segmentRecords;
+
+    @Value("${click.journal.fsync.policy:PERIODIC}")
+    private JournalFsyncPolicy fsyncPolicy;
+
+    @Value("${click.journal.fsync.interval.ms:1000}")
+    private long fsyncIntervalMs;
+
+    private Path directory;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private volatile Segment current;
+    private long nextSequence;
+    private volatile long releasedSequence;
+    private ScheduledExecutorService fsyncExecutor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            log.info("Click journal is disabled");
+            return;
+        }
+
+        directory = Paths.get(journalDir);
+        Files.createDirectories(directory);
+        lockDirectory();
+        nextSequence = listSegments().stream().mapToLong(ClickJournal::sequenceOf).max().orElse(0) + 1;
+        current = openSegment(nextSequence++);
+
+        if (fsyncPolicy == JournalFsyncPolicy.PERIODIC) {
+            fsyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "click-journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fsyncExecutor.scheduleWithFixedDelay(this::forceCurrent, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Click journal opened at {}: segmentRecords={}, fsync={}", directory.toAbsolutePath(), segmentRecords, fsyncPolicy);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(long campaignId, long timestamp, int ipHash) {
+        if (!enabled) {
+            return;
+        }
+
+        while (true) {
+            Segment segment = current;
+            int slot = segment.nextSlot.getAndIncrement();
+            if (slot < segmentRecords) {
+                segment.write(slot, campaignId, timestamp, ipHash);
+                if (fsyncPolicy == JournalFsyncPolicy.ALWAYS) {
+                    segment.force(slot);
+                }
+                return;
+            }
+            rollFrom(segment);
+        }
+    }
+
+    public Map<Long, Long> replay() {
+        Map<Long, Long> clicks = new HashMap<>();
+        if (!enabled) {
+            return clicks;
+        }
+
+        long currentSequence = current.sequence;
+        for (Path path : listSegments()) {
+            if (sequenceOf(path) >= currentSequence) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                long records = channel.size() / RECORD_SIZE;
+                for (int slot = 0; slot < records; slot++) {
+                    int offset = slot * RECORD_SIZE;
+                    if (buffer.getInt(offset + 20) == RECORD_MARKER) {
+                        clicks.merge(buffer.getLong(offset), 1L, Long::sum);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay click journal segment " + path, e);
+            }
+        }
+        log.info("Replayed click journal: {} campaigns, {} clicks",
+                clicks.size(), clicks.values().stream().mapToLong(Long::longValue).sum());
+        return clicks;
+    }
+
+    public synchronized long seal() {
+        if (!enabled) {
+            return 0;
+        }
+        Segment sealed = current;
+        if (sealed.nextSlot.get() > 0) {
+            sealed.force();
+            current = openSegment(nextSequence++);
+        }
+        return current.sequence - 1;
+    }
+
+    public synchronized void release(long upToSequence) {
+        if (!enabled || upToSequence <= releasedSequence) {
+            return;
+        }
+        releasedSequence = upToSequence;
+        for (Path path : listSegments()) {
+            if (sequenceOf(path) <= upToSequence) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete click journal segment {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private synchronized void rollFrom(Segment full) {
+        if (current == full) {
+            full.force();
+            current = openSegment(nextSequence++);
+        }
+    }
+
+    private void forceCurrent() {
+        try {
+            current.force();
+        } catch (Exception e) {
+            log.error("Error forcing click journal segment: {}", e.getMessage());
+        }
+    }
+
+    private void lockDirectory() throws IOException {
+        Path lockFile = directory.resolve(LOCK_FILE);
+        lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Click journal directory " + directory.toAbsolutePath()
+                    + " is locked by another process; give each node its own click.journal.dir");
+        }
+    }
+
+    private Segment openSegment(long sequence) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            return new Segment(sequence, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open click journal segment " + path, e);
+        }
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().forEach(segments::add);
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list click journal segments in " + directory, e);
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (fsyncExecutor != null) {
+            fsyncExecutor.shutdown();
+        }
+        if (current != null) {
+            current.force();
+        }
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to release click journal lock: {}", e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger nextSlot = new AtomicInteger();
+
+        private Segment(long sequence, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.buffer = buffer;
+        }
+
+        private void write(int slot, long campaignId, long timestamp, int ipHash) {
+            int offset = slot * RECORD_SIZE;
+            buffer.putLong(offset, campaignId);
+            buffer.putLong(offset + 8, timestamp);
+            buffer.putInt(offset + 16, ipHash);
+            buffer.putInt(offset + 20, RECORD_MARKER);
+        }
+
+        private void force(int slot) {
+            buffer.force(slot * RECORD_SIZE, RECORD_SIZE);
+        }
+
+        private void force() {
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.blps.components;
+
+import com.example.blps.utils.CidrTrie;
+import com.example.blps.utils.IpKey;
+import com.example.blps.utils.IpUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class ClientIpResolver {
+
+    private final CidrTrie trustedProxies;
+
+    public ClientIpResolver(@Value("${client.ip.trusted.proxies:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,fc00::/7}")
+                            List<String> trustedProxies) {
+        this.trustedProxies = CidrTrie.of(trustedProxies);
+        log.info("Client IP resolver initialized: {} trusted proxy ranges", this.trustedProxies.getPrefixCount());
+    }
+
+    public IpKey resolve(HttpServletRequest request) {
+        return IpUtils.getClientIpKey(request, trustedProxies);
+    }
+}
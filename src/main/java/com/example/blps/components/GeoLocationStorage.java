@@ -1,47 +1,229 @@
 package com.example.blps.components;
 
+import com.example.blps.model.geo.GeoAggregate;
+import com.example.blps.model.geo.GeoAggregateSnapshot;
 import com.example.blps.model.geo.GeoLocationData;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 @Slf4j
 public class GeoLocationStorage {
+
+    private static final long NO_CAMPAIGN = -1L;
+
+    private final int sampleSize;
+    private final Map<Place, Integer> placeIds = new ConcurrentHashMap<>();
+    private final List<Place> places = new ArrayList<>();
+    private final AtomicReference<Buffer> active;
+
+    public GeoLocationStorage(@Value("${geo.storage.sample.size:10}") int sampleSize) {
+        this.sampleSize = sampleSize;
+        this.active = new AtomicReference<>(new Buffer(sampleSize));
+    }
     
-    private final Map<String, GeoLocationData> geoDataMap = new ConcurrentHashMap<>();
-    
-    public void addOrUpdateGeoData(String ip, GeoLocationData data) {
-        GeoLocationData existingData = geoDataMap.get(ip);
-        
-        if (existingData != null) {
-            
-            existingData.setClickCount(existingData.getClickCount() + 1);
-            existingData.setTimestamp(data.getTimestamp());
-            log.debug("Updated geo data for IP: {}, click count: {}", ip, existingData.getClickCount());
-        } else {
-            
-            geoDataMap.put(ip, data);
-            log.debug("Added new geo data for IP: {}", ip);
+    public void addOrUpdateGeoData(GeoLocationData data, Long campaignId, long clicks) {
+        Place place = new Place(data.getCountryCode(), data.getCountry(),
+                data.getRegionCode(), data.getRegion(), data.getCity());
+        AggregateKey key = keyFor(campaignId, place);
+
+        Buffer buffer = acquire();
+        try {
+            buffer.counter(key).add(clicks);
+            buffer.sample(data);
+        } finally {
+            buffer.writers.decrementAndGet();
         }
     }
-    
-    public List<GeoLocationData> getAndClearAll() {
-        List<GeoLocationData> result = new ArrayList<>(geoDataMap.values());
-        geoDataMap.clear();
-        log.info("Retrieved and cleared {} geo data records", result.size());
-        return result;
+
+    public void merge(GeoAggregateSnapshot snapshot) {
+        Buffer buffer = acquire();
+        try {
+            for (GeoAggregate aggregate : snapshot.getAggregates()) {
+                Place place = new Place(aggregate.getCountryCode(), aggregate.getCountry(),
+                        aggregate.getRegionCode(), aggregate.getRegion(), aggregate.getCity());
+                buffer.counter(keyFor(aggregate.getCampaignId(), place)).add(aggregate.getClicks());
+            }
+            snapshot.getSamples().forEach(buffer::sample);
+        } finally {
+            buffer.writers.decrementAndGet();
+        }
+        log.info("Merged {} geo aggregates", snapshot.getAggregates().size());
+    }
+
+    public GeoAggregateSnapshot getAndClearAll() {
+        Buffer drained = active.getAndSet(new Buffer(sampleSize));
+        drained.awaitWriters();
+
+        List<GeoAggregate> aggregates = new ArrayList<>(drained.counters.size());
+        drained.counters.forEach((key, clicks) -> {
+            Place place = placeFor(key.placeId);
+            aggregates.add(GeoAggregate.builder()
+                    .campaignId(key.campaignId == NO_CAMPAIGN ? null : key.campaignId)
+                    .country(place.country)
+                    .countryCode(place.countryCode)
+                    .region(place.region)
+                    .regionCode(place.regionCode)
+                    .city(place.city)
+                    .clicks(clicks.sum())
+                    .build());
+        });
+        log.info("Retrieved and cleared {} geo aggregates", aggregates.size());
+        return new GeoAggregateSnapshot(aggregates, drained.samples(), drained.seen.get());
     }
     
     public int size() {
-        return geoDataMap.size();
+        return active.get().counters.size();
     }
-    
-    public boolean containsIp(String ip) {
-        return geoDataMap.containsKey(ip);
+
+    public int getPlaceCount() {
+        return placeIds.size();
+    }
+
+    private AggregateKey keyFor(Long campaignId, Place place) {
+        int placeId = placeIds.computeIfAbsent(place, newPlace -> {
+            synchronized (places) {
+                places.add(newPlace);
+                return places.size() - 1;
+            }
+        });
+        return new AggregateKey(campaignId != null ? campaignId : NO_CAMPAIGN, placeId);
+    }
+
+    private Place placeFor(int placeId) {
+        synchronized (places) {
+            return places.get(placeId);
+        }
+    }
+
+    private Buffer acquire() {
+        while (true) {
+            Buffer buffer = active.get();
+            buffer.writers.incrementAndGet();
+            if (active.get() == buffer) {
+                return buffer;
+            }
+            buffer.writers.decrementAndGet();
+        }
+    }
+
+    private static final class Buffer {
+        final Map<AggregateKey, LongAdder> counters = new ConcurrentHashMap<>();
+        final AtomicInteger writers = new AtomicInteger();
+        final AtomicReferenceArray<GeoLocationData> reservoir;
+        final AtomicLong seen = new AtomicLong();
+
+        Buffer(int sampleSize) {
+            this.reservoir = new AtomicReferenceArray<>(sampleSize);
+        }
+
+        LongAdder counter(AggregateKey key) {
+            LongAdder counter = counters.get(key);
+            return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        void sample(GeoLocationData data) {
+            long index = seen.getAndIncrement();
+            if (index < reservoir.length()) {
+                reservoir.set((int) index, data);
+                return;
+            }
+            long slot = ThreadLocalRandom.current().nextLong(index + 1);
+            if (slot < reservoir.length()) {
+                reservoir.set((int) slot, data);
+            }
+        }
+
+        List<GeoLocationData> samples() {
+            List<GeoLocationData> samples = new ArrayList<>(reservoir.length());
+            for (int i = 0; i < reservoir.length(); i++) {
+                GeoLocationData data = reservoir.get(i);
+                if (data != null) {
+                    samples.add(data);
+                }
+            }
+            return samples;
+        }
+
+        void awaitWriters() {
+            while (writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static final class AggregateKey {
+        final long campaignId;
+        final int placeId;
+
+        AggregateKey(long campaignId, int placeId) {
+            this.campaignId = campaignId;
+            this.placeId = placeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AggregateKey other)) {
+                return false;
+            }
+            return campaignId == other.campaignId && placeId == other.placeId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(campaignId) * 31 + placeId;
+        }
+    }
+
+    private static final class Place {
+        final String countryCode;
+        final String country;
+        final String regionCode;
+        final String region;
+        final String city;
+
+        Place(String countryCode, String country, String regionCode, String region, String city) {
+            this.countryCode = countryCode;
+            this.country = country;
+            this.regionCode = regionCode;
+            this.region = region;
+            this.city = city;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Place other)) {
+                return false;
+            }
+            return Objects.equals(countryCode, other.countryCode)
+                    && Objects.equals(country, other.country)
+                    && Objects.equals(regionCode, other.regionCode)
+                    && Objects.equals(region, other.region)
+                    && Objects.equals(city, other.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(countryCode, country, regionCode, region, city);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.data.CacheStatsDTO;
+import com.example.blps.dto.monitoring.GeoCacheStatsDTO;
+import com.example.blps.model.geo.GeoLocationData;
+import com.example.blps.utils.IpKey;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class GeoLookupCache {
+
+    private static final int IPV4_PREFIX_BITS = 24;
+    private static final int IPV6_PREFIX_BITS = 48;
+
+    private final Cache<IpKey, GeoLocationData> locations;
+    private final Cache<IpKey, Boolean> failures;
+    private final boolean prefixKeys;
+
+    public GeoLookupCache(@Value("${geo.cache.max.size:50000}") long maxSize,
+                          @Value("${geo.cache.ttl.minutes:360}") long ttlMinutes,
+                          @Value("${geo.cache.negative.max.size:10000}") long negativeMaxSize,
+                          @Value("${geo.cache.negative.ttl.seconds:60}") long negativeTtlSeconds,
+                          @Value("${geo.cache.prefix.keys:true}") boolean prefixKeys) {
+        this.locations = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        this.failures = CacheBuilder.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.prefixKeys = prefixKeys;
+        log.info("Geo lookup cache initialized: maxSize={}, ttl={} min, negativeTtl={} s, prefixKeys={}",
+                maxSize, ttlMinutes, negativeTtlSeconds, prefixKeys);
+    }
+
+    public IpKey keyFor(IpKey ip) {
+        if (!prefixKeys || ip == null) {
+            return ip;
+        }
+        return ip.isIpv4() ? ip.mask(IpKey.IPV4_OFFSET_BITS + IPV4_PREFIX_BITS) : ip.mask(IPV6_PREFIX_BITS);
+    }
+
+    public GeoLocationData getIfPresent(IpKey key) {
+        return locations.getIfPresent(key);
+    }
+
+    public boolean isKnownFailure(IpKey key) {
+        return failures.getIfPresent(key) != null;
+    }
+
+    public void put(IpKey key, GeoLocationData location) {
+        locations.put(key, location);
+        failures.invalidate(key);
+    }
+
+    public void putFailure(IpKey key) {
+        failures.put(key, Boolean.TRUE);
+    }
+
+    public void invalidateAll() {
+        locations.invalidateAll();
+        failures.invalidateAll();
+    }
+
+    public GeoCacheStatsDTO getStats() {
+        return GeoCacheStatsDTO.builder()
+                .prefixKeys(prefixKeys)
+                .locations(CacheStatsDTO.of(locations.size(), locations.stats()))
+                .failures(CacheStatsDTO.of(failures.size(), failures.stats()))
+                .build();
+    }
+}
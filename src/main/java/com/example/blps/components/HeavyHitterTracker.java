@@ -0,0 +1,84 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.geo.HeavyHitterDTO;
+import com.example.blps.model.geo.GeoLocationData;
+import com.example.blps.utils.IpKey;
+import com.example.blps.utils.SpaceSaving;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class HeavyHitterTracker {
+
+    private final int capacity;
+    private final Map<Long, SpaceSaving<String>> citiesByCampaign = new ConcurrentHashMap<>();
+    private final Map<Long, SpaceSaving<IpKey>> ipsByCampaign = new ConcurrentHashMap<>();
+
+    public HeavyHitterTracker(@Value("${geo.topk.capacity:200}") int capacity) {
+        this.capacity = capacity;
+        log.info("Heavy hitter tracker initialized: capacity={} per campaign", capacity);
+    }
+
+    public void offer(Long campaignId, IpKey ip, GeoLocationData location, long clicks) {
+        if (campaignId == null) {
+            return;
+        }
+        offerCity(campaignId, location.getCity(), location.getCountryCode(), clicks);
+        if (ip != null) {
+            tracker(ipsByCampaign, campaignId).offer(ip, clicks);
+        }
+    }
+
+    public void offerCity(Long campaignId, String city, String countryCode, long clicks) {
+        if (campaignId == null) {
+            return;
+        }
+        tracker(citiesByCampaign, campaignId).offer(cityOf(city, countryCode), clicks);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public List<HeavyHitterDTO> getTopCities(Long campaignId, int limit) {
+        return top(citiesByCampaign, campaignId, limit);
+    }
+
+    public List<HeavyHitterDTO> getTopIps(Long campaignId, int limit) {
+        return top(ipsByCampaign, campaignId, limit);
+    }
+
+    public void reset(Long campaignId) {
+        citiesByCampaign.remove(campaignId);
+        ipsByCampaign.remove(campaignId);
+    }
+
+    private <T> List<HeavyHitterDTO> top(Map<Long, SpaceSaving<T>> trackers, Long campaignId, int limit) {
+        SpaceSaving<T> tracker = trackers.get(campaignId);
+        if (tracker == null) {
+            return List.of();
+        }
+        return tracker.top(Math.max(0, Math.min(limit, capacity))).stream()
+                .map(entry -> HeavyHitterDTO.builder()
+                        .item(String.valueOf(entry.getItem()))
+                        .estimatedClicks(entry.getCount())
+                        .guaranteedClicks(entry.getCount() - entry.getError())
+                        .build())
+                .toList();
+    }
+
+    private <T> SpaceSaving<T> tracker(Map<Long, SpaceSaving<T>> trackers, Long campaignId) {
+        SpaceSaving<T> tracker = trackers.get(campaignId);
+        return tracker != null ? tracker : trackers.computeIfAbsent(campaignId, id -> new SpaceSaving<>(capacity));
+    }
+
+    private String cityOf(String city, String countryCode) {
+        return (city != null ? city : "Unknown") + ", " + (countryCode != null ? countryCode : "XX");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.blps.components;
+
+public enum JournalFsyncPolicy {
+    NONE,
+    PERIODIC,
+    ALWAYS
+}
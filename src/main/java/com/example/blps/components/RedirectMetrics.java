@@ -0,0 +1,109 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.monitoring.LatencyStatsDTO;
+import com.example.blps.dto.monitoring.RedirectMetricsDTO;
+import com.example.blps.utils.LatencyHistogram;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@ManagedResource(objectName = "com.example.blps:type=RedirectMetrics", description = "Redirect path latency and throughput")
+public class RedirectMetrics {
+
+    public enum Outcome {
+        COUNTED,
+        DUPLICATE,
+        NON_HUMAN,
+        UNKNOWN,
+        ERROR
+    }
+
+    private final Map<RedirectStage, LatencyHistogram> histograms = new EnumMap<>(RedirectStage.class);
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    private volatile long startedAtNanos = System.nanoTime();
+
+    public RedirectMetrics() {
+        for (RedirectStage stage : RedirectStage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    public void record(RedirectStage stage, long startNanos) {
+        histograms.get(stage).record(System.nanoTime() - startNanos);
+    }
+
+    public void increment(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    public RedirectMetricsDTO snapshot() {
+        Map<String, LatencyStatsDTO> stages = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> stages.put(stage.name(), toStats(histogram)));
+
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        outcomes.forEach((outcome, counter) -> outcomeCounts.put(outcome.name(), counter.sum()));
+
+        long uptimeNanos = System.nanoTime() - startedAtNanos;
+        double uptimeSeconds = uptimeNanos / 1e9;
+        return RedirectMetricsDTO.builder()
+                .uptimeSeconds(TimeUnit.NANOSECONDS.toSeconds(uptimeNanos))
+                .requestsPerSecond(uptimeSeconds > 0 ? histograms.get(RedirectStage.TOTAL).getCount() / uptimeSeconds : 0)
+                .outcomes(outcomeCounts)
+                .stages(stages)
+                .build();
+    }
+
+    @ManagedAttribute(description = "Redirect requests handled")
+    public long getRequestCount() {
+        return histograms.get(RedirectStage.TOTAL).getCount();
+    }
+
+    @ManagedAttribute(description = "Outcome counters")
+    public Map<String, Long> getOutcomes() {
+        return snapshot().getOutcomes();
+    }
+
+    @ManagedAttribute(description = "p50/p99/p999 per stage in microseconds")
+    public Map<String, Double> getLatencyPercentilesMicros() {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        histograms.forEach((stage, histogram) -> {
+            percentiles.put(stage.name() + ".p50", toMicros(histogram.getValueAtPercentile(50)));
+            percentiles.put(stage.name() + ".p99", toMicros(histogram.getValueAtPercentile(99)));
+            percentiles.put(stage.name() + ".p999", toMicros(histogram.getValueAtPercentile(99.9)));
+        });
+        return percentiles;
+    }
+
+    @ManagedOperation(description = "Reset all redirect histograms and counters")
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        outcomes.values().forEach(LongAdder::reset);
+        startedAtNanos = System.nanoTime();
+    }
+
+    private LatencyStatsDTO toStats(LatencyHistogram histogram) {
+        return LatencyStatsDTO.builder()
+                .count(histogram.getCount())
+                .meanMicros(histogram.getMean() / 1_000.0)
+                .p50Micros(toMicros(histogram.getValueAtPercentile(50)))
+                .p99Micros(toMicros(histogram.getValueAtPercentile(99)))
+                .p999Micros(toMicros(histogram.getValueAtPercentile(99.9)))
+                .maxMicros(toMicros(histogram.getMax()))
+                .build();
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.blps.components;
+
+public enum RedirectStage {
+    CLIENT_IP,
+    RESOLVE,
+    BOT_FILTER,
+    DEDUP,
+    RECORD,
+    GEO_ENQUEUE,
+    TOTAL
+}
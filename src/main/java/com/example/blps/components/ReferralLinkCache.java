@@ -0,0 +1,51 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.data.CacheStatsDTO;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ReferralLinkCache {
+
+    private final Cache<String, Long> campaignIdsByLink;
+
+    public ReferralLinkCache(@Value("${referral.cache.max.size:10000}") long maxSize,
+                             @Value("${referral.cache.ttl.minutes:10}") long ttlMinutes) {
+        this.campaignIdsByLink = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        log.info("Referral link cache initialized: maxSize={}, ttl={} min", maxSize, ttlMinutes);
+    }
+
+    public Optional<Long> resolve(String referralLink, Function<String, Optional<Long>> loader) {
+        Long campaignId = campaignIdsByLink.getIfPresent(referralLink);
+        if (campaignId != null) {
+            return Optional.of(campaignId);
+        }
+
+        Optional<Long> loaded = loader.apply(referralLink);
+        loaded.ifPresent(id -> campaignIdsByLink.put(referralLink, id));
+        return loaded;
+    }
+
+    public void invalidate(String referralLink) {
+        if (referralLink != null) {
+            campaignIdsByLink.invalidate(referralLink);
+            log.debug("Invalidated cached referral link: {}", referralLink);
+        }
+    }
+
+    public CacheStatsDTO getStats() {
+        return CacheStatsDTO.of(campaignIdsByLink.size(), campaignIdsByLink.stats());
+    }
+}
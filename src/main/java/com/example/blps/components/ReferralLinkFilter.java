@@ -0,0 +1,129 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.data.ReferralFilterStatsDTO;
+import com.example.blps.repository.data.OurCampaignRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class ReferralLinkFilter {
+
+    private final OurCampaignRepository campaignRepository;
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger pendingRemovals = new AtomicInteger();
+
+    @Value("${referral.filter.expected.links:100000}")
+    private long expectedLinks;
+
+    @Value("${referral.filter.fpp:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${referral.filter.rebuild.interval.seconds:60}")
+    private long rebuildIntervalSeconds;
+
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile boolean ready = false;
+    private ScheduledExecutorService rebuilder;
+
+    public ReferralLinkFilter(OurCampaignRepository campaignRepository) {
+        this.campaignRepository = campaignRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build referral link filter, all links will be looked up: {}", e.getMessage());
+        }
+
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "referral-filter-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildIfStale,
+                rebuildIntervalSeconds, rebuildIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean mightContain(String referralLink) {
+        if (!ready || filter.mightContain(referralLink)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public synchronized void add(String referralLink) {
+        if (!ready) {
+            return;
+        }
+        filter.put(referralLink);
+        if (filter.approximateElementCount() > expectedLinks) {
+            rebuild();
+        }
+    }
+
+    public void remove(String referralLink) {
+        pendingRemovals.incrementAndGet();
+        log.debug("Referral link {} removed, filter rebuild scheduled", referralLink);
+    }
+
+    private void rebuildIfStale() {
+        if (ready && pendingRemovals.get() == 0) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild referral link filter: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        int removals = pendingRemovals.get();
+        List<String> links = campaignRepository.findAllReferralLinks();
+        long capacity = Math.max(expectedLinks, links.size() * 2L);
+
+        BloomFilter<CharSequence> rebuilt = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8), capacity, falsePositiveRate);
+        links.forEach(rebuilt::put);
+
+        expectedLinks = capacity;
+        filter = rebuilt;
+        ready = true;
+        pendingRemovals.addAndGet(-removals);
+        log.info("Referral link filter rebuilt with {} links, capacity {}", links.size(), capacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    public ReferralFilterStatsDTO getStats() {
+        BloomFilter<CharSequence> current = filter;
+        return ReferralFilterStatsDTO.builder()
+                .ready(ready)
+                .approximateLinkCount(current != null ? current.approximateElementCount() : 0)
+                .expectedFalsePositiveRate(current != null ? current.expectedFpp() : 0)
+                .rejectedCount(rejected.sum())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.blps.components;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+@Component
+public class ReferralTokenCodec {
+
+    private static final char TOKEN_PREFIX = 'T';
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int MAC_BYTES = 5;
+    private static final int MAC_CHARS = 7;
+    private static final int MAX_ID_CHARS = 11;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final HashFunction hmac;
+
+    public ReferralTokenCodec(@Value("${referral.token.secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("referral.token.secret is not set; configure REFERRAL_TOKEN_SECRET");
+        }
+        if (secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("referral.token.secret must be at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        this.hmac = Hashing.hmacSha256(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String encode(Long campaignId) {
+        if (campaignId == null || campaignId < 0) {
+            throw new IllegalArgumentException("Campaign id must be non-negative: " + campaignId);
+        }
+
+        StringBuilder token = new StringBuilder(1 + MAX_ID_CHARS + MAC_CHARS);
+        token.append(TOKEN_PREFIX);
+        appendBase62(token, campaignId, 0);
+        appendBase62(token, signature(campaignId), MAC_CHARS);
+        return token.toString();
+    }
+
+    public boolean isSignedToken(String token) {
+        return token != null && token.length() > MAC_CHARS + 1 && token.charAt(0) == TOKEN_PREFIX;
+    }
+
+    public Optional<Long> decode(String token) {
+        if (!isSignedToken(token) || token.length() > 1 + MAX_ID_CHARS + MAC_CHARS) {
+            return Optional.empty();
+        }
+
+        int macStart = token.length() - MAC_CHARS;
+        long campaignId = parseBase62(token, 1, macStart);
+        long mac = parseBase62(token, macStart, token.length());
+        if (campaignId < 0 || mac < 0) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(toBytes(mac), toBytes(signature(campaignId)))) {
+            return Optional.empty();
+        }
+        return Optional.of(campaignId);
+    }
+
+    private long signature(long campaignId) {
+        byte[] digest = hmac.newHasher().putLong(campaignId).hash().asBytes();
+        long mac = 0;
+        for (int i = 0; i < MAC_BYTES; i++) {
+            mac = (mac << 8) | (digest[i] & 0xFF);
+        }
+        return mac;
+    }
+
+    private static byte[] toBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static void appendBase62(StringBuilder target, long value, int width) {
+        char[] digits = new char[MAX_ID_CHARS];
+        int pos = digits.length;
+        do {
+            digits[--pos] = ALPHABET.charAt((int) (value % 62));
+            value /= 62;
+        } while (value > 0);
+
+        for (int pad = digits.length - pos; pad < width; pad++) {
+            target.append(ALPHABET.charAt(0));
+        }
+        target.append(digits, pos, digits.length - pos);
+    }
+
+    private static long parseBase62(String source, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = ALPHABET.indexOf(source.charAt(i));
+            if (digit < 0 || value > (Long.MAX_VALUE - digit) / 62) {
+                return -1;
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.blps.components;
+
+import com.example.blps.dto.geo.UniqueVisitorsDTO;
+import com.example.blps.model.geo.CampaignCountryKey;
+import com.example.blps.utils.HyperLogLog;
+import com.example.blps.utils.IpKey;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@Slf4j
+public class UniqueVisitorCounter {
+
+    private static final HashFunction IP_HASH = Hashing.murmur3_128();
+    private static final String UNKNOWN_COUNTRY = "XX";
+
+    private final int precision;
+    private final Map<CampaignCountryKey, HyperLogLog> total = new ConcurrentHashMap<>();
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+
+    public UniqueVisitorCounter(@Value("${geo.hll.precision:12}") int precision) {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("geo.hll.precision must be in [" + HyperLogLog.MIN_PRECISION + ", "
+                    + HyperLogLog.MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        log.info("Unique visitor counter initialized: precision={} ({} registers per key)", precision, 1 << precision);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void offer(Long campaignId, String countryCode, IpKey ip) {
+        if (campaignId == null || ip == null) {
+            return;
+        }
+        CampaignCountryKey key = new CampaignCountryKey(campaignId, countryCode != null ? countryCode : UNKNOWN_COUNTRY);
+        long hash = IP_HASH.newHasher().putLong(ip.getHi()).putLong(ip.getLo()).hash().asLong();
+        Window current = acquire();
+        try {
+            sketch(current.sketches, key).add(hash);
+        } finally {
+            current.writers.decrementAndGet();
+        }
+        sketch(total, key).add(hash);
+    }
+
+    public Map<CampaignCountryKey, HyperLogLog> drainWindow() {
+        Window drained = window.getAndSet(new Window());
+        drained.awaitWriters();
+        return drained.sketches;
+    }
+
+    public void restoreWindow(Map<CampaignCountryKey, HyperLogLog> sketches) {
+        Window current = acquire();
+        try {
+            sketches.forEach((key, sketch) -> sketch(current.sketches, key).merge(sketch));
+        } finally {
+            current.writers.decrementAndGet();
+        }
+    }
+
+    public void merge(Map<CampaignCountryKey, HyperLogLog> sketches) {
+        restoreWindow(sketches);
+        sketches.forEach((key, sketch) -> sketch(total, key).merge(sketch));
+    }
+
+    public List<UniqueVisitorsDTO> getUniqueVisitors(Long campaignId) {
+        return estimates(total, campaignId);
+    }
+
+    public long getCampaignUniqueVisitors(Long campaignId) {
+        HyperLogLog merged = new HyperLogLog(precision);
+        total.forEach((key, sketch) -> {
+            if (key.getCampaignId().equals(campaignId)) {
+                merged.merge(sketch);
+            }
+        });
+        return merged.estimate();
+    }
+
+    public static List<UniqueVisitorsDTO> estimates(Map<CampaignCountryKey, HyperLogLog> sketches, Long campaignId) {
+        List<UniqueVisitorsDTO> result = new ArrayList<>();
+        sketches.forEach((key, sketch) -> {
+            if (campaignId == null || key.getCampaignId().equals(campaignId)) {
+                result.add(UniqueVisitorsDTO.builder()
+                        .campaignId(key.getCampaignId())
+                        .countryCode(key.getCountryCode())
+                        .uniqueVisitors(sketch.estimate())
+                        .build());
+            }
+        });
+        result.sort(Comparator.comparing(UniqueVisitorsDTO::getCampaignId)
+                .thenComparing(Comparator.comparingLong(UniqueVisitorsDTO::getUniqueVisitors).reversed()));
+        return result;
+    }
+
+    private HyperLogLog sketch(Map<CampaignCountryKey, HyperLogLog> sketches, CampaignCountryKey key) {
+        HyperLogLog sketch = sketches.get(key);
+        return sketch != null ? sketch : sketches.computeIfAbsent(key, k -> new HyperLogLog(precision));
+    }
+
+    private Window acquire() {
+        while (true) {
+            Window current = window.get();
+            current.writers.incrementAndGet();
+            if (window.get() == current) {
+                return current;
+            }
+            current.writers.decrementAndGet();
+        }
+    }
+
+    private static final class Window {
+        final Map<CampaignCountryKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+        final AtomicInteger writers = new AtomicInteger();
+
+        void awaitWriters() {
+            while (writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -35,6 +35,9 @@ public class ActiveMQConfig {
     @Value("${spring.activemq.password}")
     private String password;
 
+    @Value("${geo.processing.batch.enabled:false}")
+    private boolean geoBatchEnabled;
+
     @PostConstruct
     public void validateStompSupport() {
         log.info("ActiveMQ STOMP support is enabled at ws://localhost:61614/stomp");
@@ -86,6 +89,17 @@ public class ActiveMQConfig {
 
     @Bean
     public DefaultJmsListenerContainerFactory jmsListenerContainerFactory() {
+        return createListenerContainerFactory();
+    }
+
+    @Bean
+    public DefaultJmsListenerContainerFactory geoListenerContainerFactory() {
+        DefaultJmsListenerContainerFactory factory = createListenerContainerFactory();
+        factory.setAutoStartup(!geoBatchEnabled);
+        return factory;
+    }
+
+    private DefaultJmsListenerContainerFactory createListenerContainerFactory() {
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory());
         factory.setMessageConverter(jacksonJmsMessageConverter());
@@ -99,4 +113,4 @@ public class ActiveMQConfig {
 
         return factory;
     }
-}
\ No newline at end of file
+}
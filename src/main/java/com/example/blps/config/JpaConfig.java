@@ -26,6 +26,8 @@ public class JpaConfig {
         
         Properties props = new Properties();
         props.put("hibernate.transaction.jta.platform", jtaPlatform);
+        props.put("hibernate.jdbc.batch_size", "50");
+        props.put("hibernate.order_updates", "true");
         em.setJpaProperties(props);
         
         return em;
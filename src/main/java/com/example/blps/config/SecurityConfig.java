@@ -69,6 +69,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/our-campaigns/**").hasAnyRole("ADMIN", "CAMPAIGN_MANAGER", "ANALYST")
                 .requestMatchers(HttpMethod.GET, "/api/their-campaigns/**").hasAnyRole("ADMIN", "CAMPAIGN_MANAGER", "ANALYST")
                 .requestMatchers("/api/reports/campaigns/**").hasAnyRole("ADMIN", "ANALYST")
+                .requestMatchers(HttpMethod.POST, "/api/monitoring/**").hasRole("ADMIN")
+                .requestMatchers("/api/monitoring/**").hasAnyRole("ADMIN", "ANALYST")
+                .requestMatchers(HttpMethod.DELETE, "/api/geo/top/**").hasRole("ADMIN")
+                .requestMatchers("/api/geo/**").hasAnyRole("ADMIN", "ANALYST")
                 
                 .anyRequest().authenticated()
                 )
@@ -0,0 +1,75 @@
+package com.example.blps.controllers;
+
+import com.example.blps.components.HeavyHitterTracker;
+import com.example.blps.components.UniqueVisitorCounter;
+import com.example.blps.dto.geo.HeavyHitterDTO;
+import com.example.blps.dto.geo.UniqueVisitorsDTO;
+import com.example.blps.model.geo.GeoAggregate;
+import com.example.blps.service.geo.GeoAggregatePersistenceService;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/geo")
+@RequiredArgsConstructor
+public class GeoAnalyticsController {
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final GeoAggregatePersistenceService geoAggregatePersistenceService;
+
+    @GetMapping("/unique-visitors")
+    public ResponseEntity<List<UniqueVisitorsDTO>> getUniqueVisitors(@RequestParam(required = false) Long campaignId) {
+        return ResponseEntity.ok(uniqueVisitorCounter.getUniqueVisitors(campaignId));
+    }
+
+    @GetMapping("/unique-visitors/{campaignId}/total")
+    public ResponseEntity<Map<String, Long>> getCampaignUniqueVisitors(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(Map.of(
+                "campaignId", campaignId,
+                "uniqueVisitors", uniqueVisitorCounter.getCampaignUniqueVisitors(campaignId)));
+    }
+
+    @GetMapping("/top/{campaignId}/cities")
+    public ResponseEntity<List<HeavyHitterDTO>> getTopCities(
+            @PathVariable Long campaignId,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") int limit) {
+        return ResponseEntity.ok(heavyHitterTracker.getTopCities(campaignId, clampLimit(limit)));
+    }
+
+    @GetMapping("/top/{campaignId}/ips")
+    public ResponseEntity<List<HeavyHitterDTO>> getTopIps(
+            @PathVariable Long campaignId,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") int limit) {
+        return ResponseEntity.ok(heavyHitterTracker.getTopIps(campaignId, clampLimit(limit)));
+    }
+
+    @DeleteMapping("/top/{campaignId}")
+    public ResponseEntity<Void> resetTopLists(@PathVariable Long campaignId) {
+        heavyHitterTracker.reset(campaignId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/aggregates/{campaignId}")
+    public ResponseEntity<List<GeoAggregate>> getAggregates(
+            @PathVariable Long campaignId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(geoAggregatePersistenceService.getAggregates(campaignId, from, to));
+    }
+
+    private int clampLimit(int limit) {
+        return Math.min(limit, heavyHitterTracker.getCapacity());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.blps.controllers;
+
+import com.example.blps.components.BotTrafficFilter;
+import com.example.blps.components.GeoLookupCache;
+import com.example.blps.components.RedirectMetrics;
+import com.example.blps.dto.monitoring.BotFilterStatsDTO;
+import com.example.blps.dto.monitoring.GeoCacheStatsDTO;
+import com.example.blps.dto.monitoring.RedirectMetricsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+public class MonitoringController {
+    private final RedirectMetrics redirectMetrics;
+    private final GeoLookupCache geoLookupCache;
+    private final BotTrafficFilter botTrafficFilter;
+
+    @GetMapping("/redirect")
+    public ResponseEntity<RedirectMetricsDTO> getRedirectMetrics() {
+        return ResponseEntity.ok(redirectMetrics.snapshot());
+    }
+
+    @PostMapping("/redirect/reset")
+    public ResponseEntity<Void> resetRedirectMetrics() {
+        redirectMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/geo-cache")
+    public ResponseEntity<GeoCacheStatsDTO> getGeoCacheStats() {
+        return ResponseEntity.ok(geoLookupCache.getStats());
+    }
+
+    @PostMapping("/geo-cache/invalidate")
+    public ResponseEntity<Void> invalidateGeoCache() {
+        geoLookupCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/bot-filter")
+    public ResponseEntity<BotFilterStatsDTO> getBotFilterStats() {
+        return ResponseEntity.ok(botTrafficFilter.getStats());
+    }
+
+    @PostMapping("/bot-filter/reload")
+    public ResponseEntity<BotFilterStatsDTO> reloadBotFilter() throws IOException {
+        botTrafficFilter.reload();
+        return ResponseEntity.ok(botTrafficFilter.getStats());
+    }
+}
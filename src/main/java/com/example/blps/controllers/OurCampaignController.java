@@ -13,8 +13,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.blps.dto.data.CacheStatsDTO;
+import com.example.blps.dto.data.DedupStatsDTO;
 import com.example.blps.dto.data.OurCampaignDTO;
 import com.example.blps.dto.data.OurCampaignRequest;
+import com.example.blps.dto.data.ReferralFilterStatsDTO;
 import com.example.blps.service.data.BudgetOptimizationService;
 import com.example.blps.service.data.OurCampaignService;
 
@@ -43,6 +46,21 @@ public class OurCampaignController {
         return ResponseEntity.ok(campaignService.getCampaignById(id));
     }
 
+    @GetMapping("/referral-cache/stats")
+    public ResponseEntity<CacheStatsDTO> getReferralCacheStats() {
+        return ResponseEntity.ok(campaignService.getReferralCacheStats());
+    }
+
+    @GetMapping("/referral-filter/stats")
+    public ResponseEntity<ReferralFilterStatsDTO> getReferralFilterStats() {
+        return ResponseEntity.ok(campaignService.getReferralFilterStats());
+    }
+
+    @GetMapping("/click-dedup/stats")
+    public ResponseEntity<DedupStatsDTO> getClickDedupStats() {
+        return ResponseEntity.ok(campaignService.getClickDedupStats());
+    }
+
     @PostMapping
     public ResponseEntity<OurCampaignDTO> create(@Valid @RequestBody OurCampaignRequest request) {
         OurCampaignDTO createdCampaign = campaignService.createCampaign(request);
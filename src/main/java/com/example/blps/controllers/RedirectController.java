@@ -1,11 +1,13 @@
 package com.example.blps.controllers;
 
-import com.example.blps.errorHandler.NotFoundException;
-import com.example.blps.model.dataEntity.OurCampaign;
+import com.example.blps.components.ClientIpResolver;
+import com.example.blps.components.RedirectMetrics;
+import com.example.blps.components.RedirectStage;
+import com.example.blps.dto.data.ReferralClickResult;
 import com.example.blps.service.data.ReferralService;
+import com.example.blps.service.geo.GeoEventPublisher;
 import com.example.blps.service.geo.GeoLocationProcessingService;
-import com.example.blps.service.notification.MessageSenderService;
-import com.example.blps.utils.IpUtils;
+import com.example.blps.utils.IpKey;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,36 +17,64 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.view.RedirectView;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/redirect")
 @RequiredArgsConstructor
 @Slf4j
 public class RedirectController {
     private final ReferralService referralService;
-    private final MessageSenderService messageSenderService;
+    private final GeoEventPublisher geoEventPublisher;
+    private final RedirectMetrics redirectMetrics;
+    private final ClientIpResolver clientIpResolver;
 
     @GetMapping("/{referralHash}")
     public RedirectView handleRedirect(@PathVariable String referralHash, HttpServletRequest request) {
+        long requestStart = System.nanoTime();
         try {
             
-            OurCampaign campaign = referralService.processReferralClick(referralHash);
+            long start = System.nanoTime();
+            IpKey clientIp = clientIpResolver.resolve(request);
+            redirectMetrics.record(RedirectStage.CLIENT_IP, start);
+
+            Optional<ReferralClickResult> click = referralService.processReferralClick(referralHash, clientIp);
+            if (click.isEmpty()) {
+                redirectMetrics.increment(RedirectMetrics.Outcome.UNKNOWN);
+                log.debug("Unknown referral: {}", referralHash);
+                return new RedirectView("/");
+            }
+            if (!click.get().isCounted()) {
+                redirectMetrics.increment(switch (click.get().getStatus()) {
+                    case DUPLICATE -> RedirectMetrics.Outcome.DUPLICATE;
+                    case NON_HUMAN -> RedirectMetrics.Outcome.NON_HUMAN;
+                    default -> RedirectMetrics.Outcome.ERROR;
+                });
+                log.debug("{} click from IP: {} for referral: {}", click.get().getStatus(), clientIp, referralHash);
+                return new RedirectView("/");
+            }
 
-            String clientIp = IpUtils.getClientIpAddress(request);
-            log.info("Redirect request from IP: {} for referral: {}", clientIp, referralHash);
+            log.debug("Redirect request from IP: {} for referral: {}", clientIp, referralHash);
 
+            start = System.nanoTime();
             GeoLocationProcessingService.GeoLocationRequest geoRequest =
                     GeoLocationProcessingService.GeoLocationRequest.builder()
                             .ip(clientIp)
                             .referralHash(referralHash)
-                            .campaignId(campaign.getId())
+                            .campaignId(click.get().getCampaignId())
                             .build();
 
-            messageSenderService.sendMessage(GeoLocationProcessingService.GEO_PROCESSING_QUEUE, geoRequest);
+            geoEventPublisher.publish(geoRequest);
+            redirectMetrics.record(RedirectStage.GEO_ENQUEUE, start);
+            redirectMetrics.increment(RedirectMetrics.Outcome.COUNTED);
 
         } catch (Exception e) {
+            redirectMetrics.increment(RedirectMetrics.Outcome.ERROR);
             log.error("Error processing redirect for referral: {}", referralHash, e);
+        } finally {
+            redirectMetrics.record(RedirectStage.TOTAL, requestStart);
         }
 
         return new RedirectView("/");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.example.blps.dto.data;
+
+public enum ClickStatus {
+    COUNTED,
+    DUPLICATE,
+    NON_HUMAN
+}
@@ -0,0 +1,19 @@
+package com.example.blps.dto.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DedupStatsDTO {
+    private long trackedKeys;
+    private long duplicates;
+    private long overflows;
+    private Map<Long, Long> duplicatesByCampaign;
+}
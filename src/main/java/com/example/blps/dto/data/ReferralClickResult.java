@@ -0,0 +1,15 @@
+package com.example.blps.dto.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ReferralClickResult {
+    private Long campaignId;
+    private ClickStatus status;
+
+    public boolean isCounted() {
+        return status == ClickStatus.COUNTED;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.blps.dto.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferralFilterStatsDTO {
+    private boolean ready;
+    private long approximateLinkCount;
+    private double expectedFalsePositiveRate;
+    private long rejectedCount;
+}
@@ -0,0 +1,55 @@
+package com.example.blps.dto.geo;
+
+import com.example.blps.model.geo.CampaignCountryKey;
+import com.example.blps.model.geo.GeoAggregateSnapshot;
+import com.example.blps.utils.HyperLogLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoPartialAggregate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String nodeId;
+    private LocalDateTime drainedAt;
+    private GeoAggregateSnapshot snapshot;
+    private List<VisitorSketchDTO> sketches;
+
+    public static GeoPartialAggregate of(String nodeId, GeoAggregateSnapshot snapshot,
+                                         Map<CampaignCountryKey, HyperLogLog> sketches) {
+        List<VisitorSketchDTO> encoded = new ArrayList<>(sketches.size());
+        sketches.forEach((key, sketch) -> encoded.add(VisitorSketchDTO.builder()
+                .campaignId(key.getCampaignId())
+                .countryCode(key.getCountryCode())
+                .precision(sketch.getPrecision())
+                .registers(sketch.toRegisters())
+                .build()));
+        return GeoPartialAggregate.builder()
+                .nodeId(nodeId)
+                .drainedAt(LocalDateTime.now())
+                .snapshot(snapshot)
+                .sketches(encoded)
+                .build();
+    }
+
+    public Map<CampaignCountryKey, HyperLogLog> decodeSketches() {
+        Map<CampaignCountryKey, HyperLogLog> decoded = new HashMap<>();
+        for (VisitorSketchDTO sketch : sketches) {
+            decoded.put(new CampaignCountryKey(sketch.getCampaignId(), sketch.getCountryCode()),
+                    HyperLogLog.fromRegisters(sketch.getPrecision(), sketch.getRegisters()));
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blps.dto.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeavyHitterDTO {
+    private String item;
+    private long estimatedClicks;
+    private long guaranteedClicks;
+}
@@ -0,0 +1,21 @@
+package com.example.blps.dto.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorSketchDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long campaignId;
+    private String countryCode;
+    private int precision;
+    private byte[] registers;
+}
@@ -0,0 +1,21 @@
+package com.example.blps.dto.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotFilterStatsDTO {
+    private boolean enabled;
+    private String location;
+    private int prefixes;
+    private long loadedAtMillis;
+    private long botClicks;
+    private Map<Long, Long> botClicksByCampaign;
+}
@@ -0,0 +1,17 @@
+package com.example.blps.dto.monitoring;
+
+import com.example.blps.dto.data.CacheStatsDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoCacheStatsDTO {
+    private boolean prefixKeys;
+    private CacheStatsDTO locations;
+    private CacheStatsDTO failures;
+}
@@ -0,0 +1,19 @@
+package com.example.blps.dto.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStatsDTO {
+    private long count;
+    private double meanMicros;
+    private double p50Micros;
+    private double p99Micros;
+    private double p999Micros;
+    private double maxMicros;
+}
@@ -0,0 +1,19 @@
+package com.example.blps.dto.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedirectMetricsDTO {
+    private long uptimeSeconds;
+    private double requestsPerSecond;
+    private Map<String, Long> outcomes;
+    private Map<String, LatencyStatsDTO> stages;
+}
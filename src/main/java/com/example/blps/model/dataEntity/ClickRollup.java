@@ -0,0 +1,36 @@
+package com.example.blps.model.dataEntity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "click_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"campaign_id", "granularity", "bucket_start"}),
+        indexes = @Index(name = "idx_click_rollup_campaign_bucket", columnList = "campaign_id, bucket_start")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "clicks", nullable = false)
+    private long clicks;
+}
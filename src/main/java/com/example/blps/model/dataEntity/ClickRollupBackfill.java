@@ -0,0 +1,22 @@
+package com.example.blps.model.dataEntity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "click_rollup_backfill")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickRollupBackfill {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -1,13 +1,16 @@
 package com.example.blps.model.dataEntity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.validation.constraints.NotBlank;
 import org.hibernate.validator.constraints.URL;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -18,9 +21,9 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
-public class OurCampaign {
+public class OurCampaign implements Persistable<Long> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "bigint generated by default as identity")
     private Long id;
 
     @NotBlank
@@ -46,6 +49,23 @@ public class OurCampaign {
     @JsonManagedReference
     private Metric metric;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    private void markPersisted() {
+        this.newEntity = false;
+    }
+
     @PrePersist
     private void initializeMetric() {
         
@@ -0,0 +1,17 @@
+package com.example.blps.model.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignCountryKey implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long campaignId;
+    private String countryCode;
+}
@@ -0,0 +1,24 @@
+package com.example.blps.model.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoAggregate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long campaignId;
+    private String country;
+    private String countryCode;
+    private String region;
+    private String regionCode;
+    private String city;
+    private long clicks;
+}
@@ -0,0 +1,61 @@
+package com.example.blps.model.geo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoAggregateSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<GeoAggregate> aggregates;
+    private List<GeoLocationData> samples;
+    private long sampledFrom;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return aggregates.isEmpty();
+    }
+
+    @JsonIgnore
+    public long getTotalClicks() {
+        return aggregates.stream().mapToLong(GeoAggregate::getClicks).sum();
+    }
+
+    public GeoAggregateSnapshot merge(GeoAggregateSnapshot other) {
+        List<GeoAggregate> combined = new ArrayList<>(aggregates.size() + other.aggregates.size());
+        combined.addAll(aggregates);
+        combined.addAll(other.aggregates);
+        List<GeoLocationData> latestSamples = other.samples.isEmpty() ? samples : other.samples;
+        return new GeoAggregateSnapshot(mergeByKey(combined), latestSamples, sampledFrom + other.sampledFrom);
+    }
+
+    public static List<GeoAggregate> mergeByKey(List<GeoAggregate> aggregates) {
+        Map<List<Object>, GeoAggregate> merged = new LinkedHashMap<>();
+        for (GeoAggregate aggregate : aggregates) {
+            List<Object> key = Arrays.asList(aggregate.getCampaignId(), keyPart(aggregate.getCountryCode()),
+                    keyPart(aggregate.getRegionCode()), keyPart(aggregate.getCity()));
+            GeoAggregate existing = merged.get(key);
+            if (existing == null) {
+                merged.put(key, aggregate.toBuilder().build());
+            } else {
+                existing.setClicks(existing.getClicks() + aggregate.getClicks());
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static String keyPart(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blps.repository.data;
+
+import com.example.blps.model.dataEntity.ClickRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ClickRollupRepository extends JpaRepository<ClickRollup, Long>, ClickRollupRepositoryCustom {
+
+    @Query("SELECT COALESCE(SUM(r.clicks), 0) FROM ClickRollup r " +
+            "WHERE r.campaignId = :campaignId AND r.bucketStart >= :from AND r.bucketStart < :to")
+    long sumClicks(@Param("campaignId") Long campaignId,
+                   @Param("from") LocalDateTime from,
+                   @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.campaignId, SUM(r.clicks) FROM ClickRollup r " +
+            "WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.campaignId")
+    List<Object[]> sumClicksByCampaign(@Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,16 @@
+package com.example.blps.repository.data;
+
+import com.example.blps.model.dataEntity.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface ClickRollupRepositoryCustom {
+    void addClicks(RollupGranularity granularity, LocalDateTime bucketStart, Map<Long, Long> clicksByCampaign);
+
+    int compact(RollupGranularity from, RollupGranularity to, LocalDateTime before);
+
+    boolean claimBackfill(String name);
+
+    int backfillLifetimeClicks(RollupGranularity granularity, LocalDateTime bucketStart);
+}
@@ -0,0 +1,71 @@
+package com.example.blps.repository.data;
+
+import com.example.blps.model.dataEntity.RollupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ClickRollupRepositoryImpl implements ClickRollupRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO click_rollup (campaign_id, granularity, bucket_start, clicks) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (campaign_id, granularity, bucket_start) " +
+            "DO UPDATE SET clicks = click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String ROLL_UP_SQL =
+            "INSERT INTO click_rollup (campaign_id, granularity, bucket_start, clicks) " +
+            "SELECT campaign_id, ?, date_trunc(?, bucket_start), SUM(clicks) FROM click_rollup " +
+            "WHERE granularity = ? AND bucket_start < ? " +
+            "GROUP BY 1, 3 " +
+            "ON CONFLICT (campaign_id, granularity, bucket_start) " +
+            "DO UPDATE SET clicks = click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM click_rollup WHERE granularity = ? AND bucket_start < ?";
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO click_rollup (campaign_id, granularity, bucket_start, clicks) " +
+            "SELECT m.campaign_id, ?, ?, m.clickCount - COALESCE(r.clicks, 0) FROM metric m " +
+            "LEFT JOIN (SELECT campaign_id, SUM(clicks) AS clicks FROM click_rollup GROUP BY campaign_id) r " +
+            "ON r.campaign_id = m.campaign_id " +
+            "WHERE m.campaign_id IS NOT NULL AND m.clickCount > COALESCE(r.clicks, 0) " +
+            "ON CONFLICT (campaign_id, granularity, bucket_start) " +
+            "DO UPDATE SET clicks = click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String CLAIM_BACKFILL_SQL =
+            "INSERT INTO click_rollup_backfill (name, completed_at) VALUES (?, ?) ON CONFLICT (name) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addClicks(RollupGranularity granularity, LocalDateTime bucketStart, Map<Long, Long> clicksByCampaign) {
+        Timestamp bucket = Timestamp.valueOf(bucketStart);
+        List<Object[]> batchArgs = new ArrayList<>(clicksByCampaign.size());
+        clicksByCampaign.forEach((campaignId, clicks) ->
+                batchArgs.add(new Object[]{campaignId, granularity.name(), bucket, clicks}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    @Override
+    public int compact(RollupGranularity from, RollupGranularity to, LocalDateTime before) {
+        Timestamp cutoff = Timestamp.valueOf(to.truncate(before));
+        jdbcTemplate.update(ROLL_UP_SQL, to.name(), to.sqlUnit(), from.name(), cutoff);
+        return jdbcTemplate.update(DELETE_SQL, from.name(), cutoff);
+    }
+
+    @Override
+    public boolean claimBackfill(String name) {
+        return jdbcTemplate.update(CLAIM_BACKFILL_SQL, name, Timestamp.valueOf(LocalDateTime.now())) > 0;
+    }
+
+    @Override
+    public int backfillLifetimeClicks(RollupGranularity granularity, LocalDateTime bucketStart) {
+        return jdbcTemplate.update(BACKFILL_SQL, granularity.name(), Timestamp.valueOf(granularity.truncate(bucketStart)));
+    }
+}
@@ -4,7 +4,7 @@ import com.example.blps.model.dataEntity.Metric;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
-public interface MetricRepository extends JpaRepository<Metric, Long> {
+public interface MetricRepository extends JpaRepository<Metric, Long>, MetricRepositoryCustom {
     List<Metric> findByCampaignId(Long campaignId);
     List<Metric> findByClickCountGreaterThan(int minClicks);
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.example.blps.repository.data;
+
+import java.util.Map;
+
+public interface MetricRepositoryCustom {
+    Map<Long, Integer> incrementClickCounts(Map<Long, Long> clickDeltas);
+}
@@ -0,0 +1,55 @@
+package com.example.blps.repository.data;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class MetricRepositoryImpl implements MetricRepositoryCustom {
+
+    private static final String INCREMENT_CLICKS_SQL =
+            "UPDATE metric SET clickCount = clickCount + ?, ctr = ?, conversionRate = ?, roi = ? " +
+            "WHERE campaign_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, Integer> incrementClickCounts(Map<Long, Long> clickDeltas) {
+        List<Long> campaignIds = new ArrayList<>(clickDeltas.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(campaignIds.size());
+        for (Long campaignId : campaignIds) {
+            batchArgs.add(new Object[]{
+                    clickDeltas.get(campaignId),
+                    calculateCTR(),
+                    calculateConversionRate(),
+                    calculateROI(),
+                    campaignId
+            });
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_CLICKS_SQL, batchArgs);
+
+        Map<Long, Integer> result = new HashMap<>();
+        for (int i = 0; i < updated.length; i++) {
+            result.put(campaignIds.get(i), updated[i]);
+        }
+        return result;
+    }
+
+    private BigDecimal calculateCTR() {
+        return BigDecimal.valueOf(Math.random() * 10);
+    }
+
+    private BigDecimal calculateConversionRate() {
+        return BigDecimal.valueOf(Math.random() * 5);
+    }
+
+    private BigDecimal calculateROI() {
+        return BigDecimal.valueOf(Math.random() * 100 - 50);
+    }
+}
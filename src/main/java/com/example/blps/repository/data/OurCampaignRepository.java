@@ -2,11 +2,23 @@ package com.example.blps.repository.data;
 
 import com.example.blps.model.dataEntity.OurCampaign;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OurCampaignRepository extends JpaRepository<OurCampaign, Long> {
     boolean existsByCampaignName(String campaignName);
     boolean existsByReferralLink(String referralLink);
     Optional<OurCampaign> findByReferralLink(String referralLink);
+
+    @Query("SELECT c.id FROM OurCampaign c WHERE c.referralLink = :referralLink")
+    Optional<Long> findIdByReferralLink(@Param("referralLink") String referralLink);
+
+    @Query(value = "SELECT nextval(pg_get_serial_sequence('ourcampaign', 'id'))", nativeQuery = true)
+    Long nextCampaignId();
+
+    @Query("SELECT c.referralLink FROM OurCampaign c")
+    List<String> findAllReferralLinks();
 }
\ No newline at end of file
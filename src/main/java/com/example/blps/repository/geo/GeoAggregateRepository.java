@@ -0,0 +1,133 @@
+package com.example.blps.repository.geo;
+
+import com.example.blps.model.geo.GeoAggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class GeoAggregateRepository {
+
+    private static final long NO_CAMPAIGN = 0L;
+    private static final String NONE = "";
+    private static final int COLUMNS = 9;
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS geo_aggregate (" +
+            "bucket_date DATE NOT NULL, " +
+            "campaign_id BIGINT NOT NULL, " +
+            "country_code VARCHAR(8) NOT NULL, " +
+            "region_code VARCHAR(16) NOT NULL, " +
+            "city VARCHAR(255) NOT NULL, " +
+            "country VARCHAR(255), " +
+            "region VARCHAR(255), " +
+            "clicks BIGINT NOT NULL, " +
+            "updated_at TIMESTAMP NOT NULL, " +
+            "PRIMARY KEY (bucket_date, campaign_id, country_code, region_code, city)" +
+            ") PARTITION BY RANGE (bucket_date)";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_geo_aggregate_campaign ON geo_aggregate (campaign_id, bucket_date)";
+
+    private static final String CREATE_PARTITION_SQL =
+            "CREATE TABLE IF NOT EXISTS geo_aggregate_%d_%02d PARTITION OF geo_aggregate " +
+            "FOR VALUES FROM ('%s') TO ('%s')";
+
+    private static final String UPSERT_PREFIX =
+            "INSERT INTO geo_aggregate (bucket_date, campaign_id, country_code, region_code, city, " +
+            "country, region, clicks, updated_at) VALUES ";
+
+    private static final String UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_SUFFIX =
+            " ON CONFLICT (bucket_date, campaign_id, country_code, region_code, city) " +
+            "DO UPDATE SET clicks = geo_aggregate.clicks + EXCLUDED.clicks, " +
+            "country = EXCLUDED.country, region = EXCLUDED.region, updated_at = EXCLUDED.updated_at";
+
+    private static final String SUM_BY_CAMPAIGN_SQL =
+            "SELECT campaign_id, country_code, MAX(country), region_code, MAX(region), city, SUM(clicks) " +
+            "FROM geo_aggregate WHERE campaign_id = ? AND bucket_date BETWEEN ? AND ? " +
+            "GROUP BY campaign_id, country_code, region_code, city ORDER BY 7 DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public void createSchema() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+    }
+
+    public void ensurePartition(LocalDate day) {
+        YearMonth month = YearMonth.from(day);
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        jdbcTemplate.execute(String.format(CREATE_PARTITION_SQL, month.getYear(), month.getMonthValue(),
+                month.atDay(1), month.plusMonths(1).atDay(1)));
+        knownPartitions.add(month);
+        log.debug("Ensured geo_aggregate partition for {}", month);
+    }
+
+    public int upsert(LocalDate bucketDate, List<GeoAggregate> aggregates, int rowsPerStatement) {
+        Date bucket = Date.valueOf(bucketDate);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int written = 0;
+        for (int from = 0; from < aggregates.size(); from += rowsPerStatement) {
+            List<GeoAggregate> chunk = aggregates.subList(from, Math.min(from + rowsPerStatement, aggregates.size()));
+            StringBuilder sql = new StringBuilder(UPSERT_PREFIX.length() + chunk.size() * (UPSERT_ROW.length() + 2)
+                    + UPSERT_SUFFIX.length());
+            sql.append(UPSERT_PREFIX).append(String.join(", ", Collections.nCopies(chunk.size(), UPSERT_ROW)))
+                    .append(UPSERT_SUFFIX);
+
+            Object[] args = new Object[chunk.size() * COLUMNS];
+            int i = 0;
+            for (GeoAggregate aggregate : chunk) {
+                args[i++] = bucket;
+                args[i++] = aggregate.getCampaignId() != null ? aggregate.getCampaignId() : NO_CAMPAIGN;
+                args[i++] = keyPart(aggregate.getCountryCode());
+                args[i++] = keyPart(aggregate.getRegionCode());
+                args[i++] = keyPart(aggregate.getCity());
+                args[i++] = aggregate.getCountry();
+                args[i++] = aggregate.getRegion();
+                args[i++] = aggregate.getClicks();
+                args[i++] = now;
+            }
+            written += jdbcTemplate.update(sql.toString(), args);
+        }
+        return written;
+    }
+
+    public List<GeoAggregate> sumByCampaign(Long campaignId, LocalDate from, LocalDate to) {
+        return new ArrayList<>(jdbcTemplate.query(SUM_BY_CAMPAIGN_SQL, (rs, rowNum) -> GeoAggregate.builder()
+                .campaignId(rs.getLong(1))
+                .countryCode(fromKeyPart(rs.getString(2)))
+                .country(rs.getString(3))
+                .regionCode(fromKeyPart(rs.getString(4)))
+                .region(rs.getString(5))
+                .city(fromKeyPart(rs.getString(6)))
+                .clicks(rs.getLong(7))
+                .build(), campaignId, Date.valueOf(from), Date.valueOf(to)));
+    }
+
+    private static String keyPart(String value) {
+        return value != null ? value : NONE;
+    }
+
+    private static String fromKeyPart(String value) {
+        return NONE.equals(value) ? null : value;
+    }
+}
@@ -6,6 +6,7 @@ import com.example.blps.model.billing.BillingItem;
 import com.example.blps.model.dataEntity.Metric;
 import com.example.blps.model.dataEntity.OurCampaign;
 import com.example.blps.repository.data.OurCampaignRepository;
+import com.example.blps.service.data.ClickRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ import java.util.List;
 public class BillingCalculationService {
 
     private final OurCampaignRepository campaignRepository;
+    private final ClickRollupService clickRollupService;
 
     private static final BigDecimal COST_PER_CLICK = new BigDecimal("0.50");
     private static final BigDecimal COST_PER_CONVERSION = new BigDecimal("5.00");
@@ -38,14 +40,17 @@ public class BillingCalculationService {
             return createEmptyBilling(campaign, request);
         }
 
+        int periodClicks = Math.toIntExact(clickRollupService.sumClicks(
+                campaign.getId(), request.getPeriodStart(), request.getPeriodEnd()));
+
         List<BillingItem> items = new ArrayList<>();
         BigDecimal totalSpent = BigDecimal.ZERO;
 
-        if (metric.getClickCount() > 0) {
-            BigDecimal clicksCost = COST_PER_CLICK.multiply(new BigDecimal(metric.getClickCount()));
+        if (periodClicks > 0) {
+            BigDecimal clicksCost = COST_PER_CLICK.multiply(new BigDecimal(periodClicks));
             items.add(BillingItem.builder()
                     .description("Клики по рекламе")
-                    .quantity(metric.getClickCount())
+                    .quantity(periodClicks)
                     .unitPrice(COST_PER_CLICK)
                     .totalPrice(clicksCost)
                     .type("CLICK")
@@ -53,7 +58,7 @@ public class BillingCalculationService {
             totalSpent = totalSpent.add(clicksCost);
         }
 
-        Integer conversions = calculateConversions(metric);
+        Integer conversions = calculateConversions(periodClicks, metric);
         if (conversions > 0) {
             BigDecimal conversionsCost = COST_PER_CONVERSION.multiply(new BigDecimal(conversions));
             items.add(BillingItem.builder()
@@ -85,7 +90,7 @@ public class BillingCalculationService {
                 .periodEnd(request.getPeriodEnd())
                 .totalSpent(totalSpent)
                 .clickCost(COST_PER_CLICK)
-                .totalClicks(metric.getClickCount())
+                .totalClicks(periodClicks)
                 .conversionCost(COST_PER_CONVERSION)
                 .totalConversions(conversions)
                 .status("PENDING")
@@ -94,13 +99,13 @@ public class BillingCalculationService {
                 .build();
     }
 
-    private Integer calculateConversions(Metric metric) {
+    private Integer calculateConversions(int clicks, Metric metric) {
         
-        if (metric.getClickCount() == null || metric.getConversionRate() == null) {
+        if (metric.getConversionRate() == null) {
             return 0;
         }
 
-        BigDecimal conversions = new BigDecimal(metric.getClickCount())
+        BigDecimal conversions = new BigDecimal(clicks)
                 .multiply(metric.getConversionRate())
                 .divide(new BigDecimal("100"), 0, BigDecimal.ROUND_HALF_UP);
 
@@ -0,0 +1,83 @@
+package com.example.blps.service.data;
+
+import com.example.blps.model.dataEntity.RollupGranularity;
+import com.example.blps.repository.data.ClickRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClickRollupService {
+
+    private static final String LIFETIME_BACKFILL = "lifetime-clicks";
+    private static final LocalDateTime LIFETIME_BUCKET = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ClickRollupRepository clickRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${click.rollup.minute.retention.hours:6}")
+    private int minuteRetentionHours;
+
+    @Value("${click.rollup.hour.retention.days:7}")
+    private int hourRetentionDays;
+
+    public void recordClicks(Map<Long, Long> clicksByCampaign, LocalDateTime at) {
+        if (clicksByCampaign.isEmpty()) {
+            return;
+        }
+        clickRollupRepository.addClicks(RollupGranularity.MINUTE, RollupGranularity.MINUTE.truncate(at), clicksByCampaign);
+    }
+
+    public void compact() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setName("compactClickRollupsTransaction");
+        definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        TransactionStatus status = transactionManager.getTransaction(definition);
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            boolean backfill = clickRollupRepository.claimBackfill(LIFETIME_BACKFILL);
+            int backfilledCampaigns = backfill
+                    ? clickRollupRepository.backfillLifetimeClicks(RollupGranularity.DAY, LIFETIME_BUCKET)
+                    : 0;
+            int minutes = clickRollupRepository.compact(
+                    RollupGranularity.MINUTE, RollupGranularity.HOUR, now.minusHours(minuteRetentionHours));
+            int hours = clickRollupRepository.compact(
+                    RollupGranularity.HOUR, RollupGranularity.DAY, now.minusDays(hourRetentionDays));
+
+            transactionManager.commit(status);
+            if (backfill) {
+                log.info("Backfilled click rollups from lifetime metric totals for {} campaigns", backfilledCampaigns);
+            }
+            log.info("Click rollups compacted: {} minute buckets, {} hour buckets", minutes, hours);
+        } catch (Exception e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+    }
+
+    public long sumClicks(Long campaignId, LocalDate from, LocalDate to) {
+        return clickRollupRepository.sumClicks(campaignId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    public Map<Long, Long> sumClicksByCampaign(LocalDate from, LocalDate to) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : clickRollupRepository.sumClicksByCampaign(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            result.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return result;
+    }
+}
@@ -1,17 +1,87 @@
 package com.example.blps.service.data;
 
 import com.example.blps.model.dataEntity.Metric;
+import com.example.blps.model.dataEntity.OurCampaign;
 import com.example.blps.repository.data.MetricRepository;
+import com.example.blps.repository.data.OurCampaignRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Slf4j
 public class MetricService {
     private MetricRepository metricRepository;
-    public MetricService(MetricRepository repository){
+    private OurCampaignRepository campaignRepository;
+    private PlatformTransactionManager transactionManager;
+    private ClickRollupService clickRollupService;
+
+    public MetricService(MetricRepository repository,
+                         OurCampaignRepository campaignRepository,
+                         PlatformTransactionManager transactionManager,
+                         ClickRollupService clickRollupService) {
         this.metricRepository = repository;
+        this.campaignRepository = campaignRepository;
+        this.transactionManager = transactionManager;
+        this.clickRollupService = clickRollupService;
     }
 
     public Metric saveMetric(Metric metric) {
         return metricRepository.save(metric);
     }
-}
\ No newline at end of file
+
+    public void applyClickDeltas(Map<Long, Long> clickDeltas) {
+        if (clickDeltas.isEmpty()) {
+            return;
+        }
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setName("applyClickDeltasTransaction");
+        definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        TransactionStatus status = transactionManager.getTransaction(definition);
+
+        try {
+            Map<Long, Integer> updatedRows = metricRepository.incrementClickCounts(clickDeltas);
+
+            Map<Long, Long> countedDeltas = new HashMap<>(clickDeltas.size());
+            updatedRows.forEach((campaignId, rows) -> {
+                Long delta = clickDeltas.get(campaignId);
+                if (rows != 0 || createMetricWithClicks(campaignId, delta)) {
+                    countedDeltas.put(campaignId, delta);
+                }
+            });
+
+            clickRollupService.recordClicks(countedDeltas, LocalDateTime.now());
+
+            transactionManager.commit(status);
+            log.debug("Applied click deltas for {} campaigns", clickDeltas.size());
+        } catch (Exception e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+    }
+
+    private boolean createMetricWithClicks(Long campaignId, Long delta) {
+        Optional<OurCampaign> campaign = campaignRepository.findById(campaignId);
+        if (campaign.isEmpty()) {
+            log.warn("Dropping {} clicks for missing campaign {}", delta, campaignId);
+            return false;
+        }
+
+        Metric metric = new Metric();
+        metric.setCampaign(campaign.get());
+        campaign.get().setMetric(metric);
+        metric.setClickCount(Math.toIntExact(delta));
+        metricRepository.save(metric);
+        return true;
+    }
+}
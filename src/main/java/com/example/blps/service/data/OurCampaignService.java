@@ -1,7 +1,15 @@
 package com.example.blps.service.data;
 
+import com.example.blps.components.BotTrafficFilter;
+import com.example.blps.components.ClickDeduplicator;
+import com.example.blps.components.ReferralLinkCache;
+import com.example.blps.components.ReferralLinkFilter;
+import com.example.blps.components.ReferralTokenCodec;
+import com.example.blps.dto.data.CacheStatsDTO;
+import com.example.blps.dto.data.DedupStatsDTO;
 import com.example.blps.dto.data.OurCampaignDTO;
 import com.example.blps.dto.data.OurCampaignRequest;
+import com.example.blps.dto.data.ReferralFilterStatsDTO;
 import com.example.blps.dto.notification.NotificationMessage;
 import com.example.blps.errorHandler.ConflictException;
 import com.example.blps.errorHandler.NotFoundException;
@@ -11,7 +19,6 @@ import com.example.blps.model.notification.NotificationType;
 import com.example.blps.repository.data.OurCampaignRepository;
 import com.example.blps.controllers.utils.CampaignMapper;
 import com.example.blps.service.notification.MessageSenderService;
-import com.google.common.hash.Hashing;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -22,8 +29,6 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
-import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,6 +42,11 @@ public class OurCampaignService {
     private final CampaignMapper campaignMapper;
     private final PlatformTransactionManager transactionManager;
     private final MessageSenderService messageSenderService;
+    private final ReferralLinkCache referralLinkCache;
+    private final ReferralTokenCodec referralTokenCodec;
+    private final ReferralLinkFilter referralLinkFilter;
+    private final ClickDeduplicator clickDeduplicator;
+    private final BotTrafficFilter botTrafficFilter;
 
     public List<OurCampaignDTO> getAllCampaigns() {
         return ourCampaignRepository.findAll().stream()
@@ -64,9 +74,8 @@ public class OurCampaignService {
             }
 
             OurCampaign newCampaign = campaignMapper.toEntity(request);
-
-            String referralLink = generateReferralLink(newCampaign);
-            newCampaign.setReferralLink(referralLink);
+            newCampaign.setId(ourCampaignRepository.nextCampaignId());
+            newCampaign.setReferralLink(referralTokenCodec.encode(newCampaign.getId()));
 
             initializeMetric(newCampaign);
 
@@ -74,6 +83,8 @@ public class OurCampaignService {
 
             transactionManager.commit(status);
 
+            referralLinkFilter.add(savedCampaign.getReferralLink());
+
             sendCampaignCreatedNotification(savedCampaign);
 
             return campaignMapper.toDTO(savedCampaign);
@@ -98,18 +109,24 @@ public class OurCampaignService {
                     .orElseThrow(() -> new NotFoundException("Campaign not found"));
 
             boolean isNameChanged = !existingCampaign.getCampaignName().equals(request.getCampaignName());
+            String previousReferralLink = existingCampaign.getReferralLink();
 
             updateCampaignFields(existingCampaign, request);
 
-            if (isNameChanged) {
-                String newReferralLink = generateReferralLink(existingCampaign);
-                existingCampaign.setReferralLink(newReferralLink);
+            boolean isLinkChanged = isNameChanged && !referralTokenCodec.isSignedToken(previousReferralLink);
+            if (isLinkChanged) {
+                existingCampaign.setReferralLink(referralTokenCodec.encode(existingCampaign.getId()));
             }
 
             OurCampaign updatedCampaign = ourCampaignRepository.save(existingCampaign);
 
             transactionManager.commit(status);
 
+            if (isLinkChanged) {
+                referralLinkFilter.add(updatedCampaign.getReferralLink());
+                referralLinkCache.invalidate(previousReferralLink);
+            }
+
             sendCampaignUpdatedNotification(updatedCampaign);
 
             return campaignMapper.toDTO(updatedCampaign);
@@ -134,11 +151,16 @@ public class OurCampaignService {
                     .orElseThrow(() -> new NotFoundException("Campaign not found"));
 
             String campaignName = campaign.getCampaignName();
+            String referralLink = campaign.getReferralLink();
 
             ourCampaignRepository.delete(campaign);
 
             transactionManager.commit(status);
 
+            referralLinkCache.invalidate(referralLink);
+            referralLinkFilter.remove(referralLink);
+            botTrafficFilter.clearCampaign(id);
+
             sendCampaignDeletedNotification(id, campaignName);
         } catch (Exception e) {
             
@@ -152,6 +174,42 @@ public class OurCampaignService {
         return ourCampaignRepository.findByReferralLink(referralHash);
     }
 
+    public Optional<Long> resolveCampaignId(String referralHash) {
+        boolean signed = referralTokenCodec.isSignedToken(referralHash);
+        if (!referralLinkFilter.mightContain(referralHash)) {
+            return signed ? resolveUnfilteredToken(referralHash) : Optional.empty();
+        }
+        if (signed) {
+            return referralTokenCodec.decode(referralHash);
+        }
+        return referralLinkCache.resolve(referralHash, ourCampaignRepository::findIdByReferralLink);
+    }
+
+    private Optional<Long> resolveUnfilteredToken(String referralHash) {
+        if (referralTokenCodec.decode(referralHash).isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Long> campaignId = referralLinkCache.resolve(referralHash, ourCampaignRepository::findIdByReferralLink);
+        campaignId.ifPresent(id -> referralLinkFilter.add(referralHash));
+        return campaignId;
+    }
+
+    public Optional<OurCampaign> findById(Long id) {
+        return ourCampaignRepository.findById(id);
+    }
+
+    public CacheStatsDTO getReferralCacheStats() {
+        return referralLinkCache.getStats();
+    }
+
+    public ReferralFilterStatsDTO getReferralFilterStats() {
+        return referralLinkFilter.getStats();
+    }
+
+    public DedupStatsDTO getClickDedupStats() {
+        return clickDeduplicator.getStats();
+    }
+
     private void initializeMetric(OurCampaign campaign) {
         if (campaign.getMetric() == null) {
             Metric metric = new Metric();
@@ -166,19 +224,6 @@ public class OurCampaignService {
         existing.setPlacementUrl(request.getPlacementUrl());
     }
 
-    public String generateReferralLink(OurCampaign campaign) {
-        try {
-            String base = campaign.getCampaignName() + Instant.now().toEpochMilli();
-            String hash = Hashing.sha256()
-                    .hashString(base, StandardCharsets.UTF_8)
-                    .toString();
-            
-            return hash.substring(0, 12);
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating referral link", e);
-        }
-    }
-
     private void sendCampaignCreatedNotification(OurCampaign campaign) {
         try {
             
@@ -1,18 +1,18 @@
 package com.example.blps.service.data;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.TransactionDefinition;
-import org.springframework.transaction.TransactionStatus;
-import org.springframework.transaction.jta.JtaTransactionManager;
-import org.springframework.transaction.support.DefaultTransactionDefinition;
 
-import com.example.blps.errorHandler.NotFoundException;
-import com.example.blps.model.dataEntity.Metric;
-import com.example.blps.model.dataEntity.OurCampaign;
+import com.example.blps.components.BotTrafficFilter;
+import com.example.blps.components.ClickAggregator;
+import com.example.blps.components.ClickDeduplicator;
+import com.example.blps.components.RedirectMetrics;
+import com.example.blps.components.RedirectStage;
+import com.example.blps.dto.data.ClickStatus;
+import com.example.blps.dto.data.ReferralClickResult;
+import com.example.blps.utils.IpKey;
+import com.google.common.hash.Hashing;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,62 +21,44 @@ import lombok.RequiredArgsConstructor;
 public class ReferralService {
 
     private final OurCampaignService campaignService;
-    private final MetricService metricService;
-    private final PlatformTransactionManager transactionManager;
-
-    public OurCampaign processReferralClick(String referralHash) {
-        
-        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
-        definition.setName("processReferralClickTransaction");
-        definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
-
-        TransactionStatus status = transactionManager.getTransaction(definition);
-
-        try {
-            OurCampaign campaign = campaignService.findByReferralHash(referralHash)
-                    .orElseThrow(() -> new NotFoundException("Campaign not found"));
-
-            Metric metric = getOrCreateMetric(campaign);
-            updateMetrics(metric);
-            System.out.println("commit");
-
-            transactionManager.commit(status);
-
-            return campaign;
-        } catch (Exception e) {
-            transactionManager.rollback(status);
-            throw e;
+    private final ClickAggregator clickAggregator;
+    private final ClickDeduplicator clickDeduplicator;
+    private final RedirectMetrics redirectMetrics;
+    private final BotTrafficFilter botTrafficFilter;
+
+    public Optional<ReferralClickResult> processReferralClick(String referralHash, IpKey clientIp) {
+        long start = System.nanoTime();
+        Optional<Long> campaignId = campaignService.resolveCampaignId(referralHash);
+        redirectMetrics.record(RedirectStage.RESOLVE, start);
+        if (campaignId.isEmpty()) {
+            return Optional.empty();
         }
-    }
 
-    private Metric getOrCreateMetric(OurCampaign campaign) {
-        return Optional.ofNullable(campaign.getMetric())
-                .orElseGet(() -> createNewMetric(campaign));
-    }
-
-    private Metric createNewMetric(OurCampaign campaign) {
-        Metric newMetric = new Metric();
-        newMetric.setCampaign(campaign);
-        campaign.setMetric(newMetric);
-        return metricService.saveMetric(newMetric);
-    }
-
-    private void updateMetrics(Metric metric) {
-        metric.setClickCount(metric.getClickCount() + 1);
-        metric.setCtr(calculateCTR());
-        metric.setConversionRate(calculateConversionRate());
-        metric.setRoi(calculateROI());
-    }
+        start = System.nanoTime();
+        boolean bot = botTrafficFilter.isBot(clientIp);
+        redirectMetrics.record(RedirectStage.BOT_FILTER, start);
+        if (bot) {
+            botTrafficFilter.recordBotClick(campaignId.get());
+            return Optional.of(new ReferralClickResult(campaignId.get(), ClickStatus.NON_HUMAN));
+        }
 
-    private BigDecimal calculateCTR() {
-        return BigDecimal.valueOf(Math.random() * 10);
-    }
+        start = System.nanoTime();
+        boolean duplicate = clickDeduplicator.isDuplicate(campaignId.get(), clientIp, referralHash);
+        redirectMetrics.record(RedirectStage.DEDUP, start);
+        if (duplicate) {
+            return Optional.of(new ReferralClickResult(campaignId.get(), ClickStatus.DUPLICATE));
+        }
 
-    private BigDecimal calculateConversionRate() {
-        return BigDecimal.valueOf(Math.random() * 5);
+        start = System.nanoTime();
+        clickAggregator.recordClick(campaignId.get(), hashIp(clientIp));
+        redirectMetrics.record(RedirectStage.RECORD, start);
+        return Optional.of(new ReferralClickResult(campaignId.get(), ClickStatus.COUNTED));
     }
 
-    private BigDecimal calculateROI() {
-        return BigDecimal.valueOf(Math.random() * 100 - 50);
+    private int hashIp(IpKey clientIp) {
+        return Hashing.murmur3_32_fixed().newHasher()
+                .putLong(clientIp.getHi())
+                .putLong(clientIp.getLo())
+                .hash().asInt();
     }
-}
\ No newline at end of file
+}
@@ -8,13 +8,16 @@ import com.example.blps.repository.data.OurCampaignRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReportService {
     private final OurCampaignRepository ourCampaignRepository;
+    private final ClickRollupService clickRollupService;
 
     public List<CampaignReportDTO> getCampaignsReportData() {
         return ourCampaignRepository.findAll().stream()
@@ -22,6 +25,21 @@ public class ReportService {
                 .collect(Collectors.toList());
     }
 
+    public List<CampaignReportDTO> getCampaignsReportData(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            return getCampaignsReportData();
+        }
+
+        Map<Long, Long> periodClicks = clickRollupService.sumClicksByCampaign(startDate, endDate);
+        return ourCampaignRepository.findAll().stream()
+                .map(campaign -> {
+                    CampaignReportDTO dto = convertToReportDTO(campaign);
+                    dto.setClickCount(Math.toIntExact(periodClicks.getOrDefault(campaign.getId(), 0L)));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
     public CampaignReportDTO getCampaignReportData(Long id) {
         OurCampaign campaign = ourCampaignRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Campaign not found"));
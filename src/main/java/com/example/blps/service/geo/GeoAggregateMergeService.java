@@ -0,0 +1,49 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.components.GeoLocationStorage;
+import com.example.blps.components.HeavyHitterTracker;
+import com.example.blps.components.UniqueVisitorCounter;
+import com.example.blps.dto.geo.GeoPartialAggregate;
+import com.example.blps.model.geo.CampaignCountryKey;
+import com.example.blps.model.geo.GeoAggregate;
+import com.example.blps.utils.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "scheduler.master.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GeoAggregateMergeService {
+
+    public static final String GEO_AGGREGATE_QUEUE = "geo.aggregate.queue";
+
+    private final GeoLocationStorage geoLocationStorage;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final HeavyHitterTracker heavyHitterTracker;
+
+    @JmsListener(destination = GEO_AGGREGATE_QUEUE)
+    public void mergePartialAggregate(GeoPartialAggregate partial) {
+        Map<CampaignCountryKey, HyperLogLog> sketches = partial.decodeSketches();
+        for (HyperLogLog sketch : sketches.values()) {
+            if (sketch.getPrecision() != uniqueVisitorCounter.getPrecision()) {
+                throw new IllegalArgumentException("Partial geo aggregate from " + partial.getNodeId()
+                        + " has sketch precision " + sketch.getPrecision() + ", expected "
+                        + uniqueVisitorCounter.getPrecision());
+            }
+        }
+        geoLocationStorage.merge(partial.getSnapshot());
+        uniqueVisitorCounter.merge(sketches);
+        for (GeoAggregate aggregate : partial.getSnapshot().getAggregates()) {
+            heavyHitterTracker.offerCity(aggregate.getCampaignId(), aggregate.getCity(),
+                    aggregate.getCountryCode(), aggregate.getClicks());
+        }
+        log.info("Merged partial geo aggregate from {}: {} aggregates, {} sketches",
+                partial.getNodeId(), partial.getSnapshot().getAggregates().size(), sketches.size());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.components.GeoLocationStorage;
+import com.example.blps.model.geo.GeoAggregate;
+import com.example.blps.model.geo.GeoAggregateSnapshot;
+import com.example.blps.repository.geo.GeoAggregateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeoAggregatePersistenceService {
+
+    private final GeoAggregateRepository geoAggregateRepository;
+    private final GeoLocationStorage geoLocationStorage;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${geo.persistence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${geo.persistence.rows.per.statement:500}")
+    private int rowsPerStatement;
+
+    @Value("${geo.distributed.enabled:false}")
+    private boolean distributed;
+
+    @Value("${scheduler.master.enabled:false}")
+    private boolean master;
+
+    private volatile boolean schemaReady;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Geo aggregate persistence disabled");
+            return;
+        }
+        try {
+            geoAggregateRepository.createSchema();
+            schemaReady = true;
+        } catch (Exception e) {
+            log.error("Failed to create geo_aggregate table, geo aggregates will not be persisted: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && schemaReady;
+    }
+
+    public void persist(GeoAggregateSnapshot snapshot) {
+        if (!isEnabled() || snapshot.isEmpty()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<GeoAggregate> rows = GeoAggregateSnapshot.mergeByKey(snapshot.getAggregates());
+        geoAggregateRepository.ensurePartition(today);
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setName("persistGeoAggregatesTransaction");
+        definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        TransactionStatus status = transactionManager.getTransaction(definition);
+
+        try {
+            int written = geoAggregateRepository.upsert(today, rows, rowsPerStatement);
+            transactionManager.commit(status);
+            log.info("Persisted {} geo aggregates", written);
+        } catch (Exception e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+    }
+
+    public List<GeoAggregate> getAggregates(Long campaignId, LocalDate from, LocalDate to) {
+        return geoAggregateRepository.sumByCampaign(campaignId, from, to);
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        if (!isEnabled() || (distributed && !master)) {
+            return;
+        }
+        try {
+            persist(geoLocationStorage.getAndClearAll());
+        } catch (Exception e) {
+            log.error("Failed to persist buffered geo aggregates on shutdown: {}", e.getMessage());
+        }
+    }
+}
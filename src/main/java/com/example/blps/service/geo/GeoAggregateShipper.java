@@ -0,0 +1,94 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.components.GeoLocationStorage;
+import com.example.blps.components.UniqueVisitorCounter;
+import com.example.blps.dto.geo.GeoPartialAggregate;
+import com.example.blps.model.geo.CampaignCountryKey;
+import com.example.blps.model.geo.GeoAggregateSnapshot;
+import com.example.blps.utils.HyperLogLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@ConditionalOnExpression("${geo.distributed.enabled:false} and !${scheduler.master.enabled:false}")
+@Slf4j
+public class GeoAggregateShipper {
+
+    private final JmsTemplate jmsTemplate;
+    private final GeoLocationStorage geoLocationStorage;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+
+    @Value("${geo.distributed.ship.interval.ms:30000}")
+    private long shipIntervalMs;
+
+    @Value("${ATOMIKOS_NODE:${spring.application.name:blps}}")
+    private String nodeId;
+
+    private ScheduledExecutorService shipper;
+
+    public GeoAggregateShipper(JmsTemplate jmsTemplate,
+                               GeoLocationStorage geoLocationStorage,
+                               UniqueVisitorCounter uniqueVisitorCounter) {
+        this.jmsTemplate = jmsTemplate;
+        this.geoLocationStorage = geoLocationStorage;
+        this.uniqueVisitorCounter = uniqueVisitorCounter;
+    }
+
+    @PostConstruct
+    public void start() {
+        shipper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "geo-aggregate-shipper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        shipper.scheduleWithFixedDelay(this::shipSafely, shipIntervalMs, shipIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Geo aggregate shipper started: node={}, interval={} ms", nodeId, shipIntervalMs);
+    }
+
+    public synchronized void ship() {
+        GeoAggregateSnapshot snapshot = geoLocationStorage.getAndClearAll();
+        Map<CampaignCountryKey, HyperLogLog> sketches = uniqueVisitorCounter.drainWindow();
+        if (snapshot.isEmpty() && sketches.isEmpty()) {
+            return;
+        }
+
+        try {
+            jmsTemplate.convertAndSend(GeoAggregateMergeService.GEO_AGGREGATE_QUEUE,
+                    GeoPartialAggregate.of(nodeId, snapshot, sketches));
+            log.debug("Shipped {} geo aggregates and {} sketches to master", snapshot.getAggregates().size(), sketches.size());
+        } catch (RuntimeException e) {
+            geoLocationStorage.merge(snapshot);
+            uniqueVisitorCounter.restoreWindow(sketches);
+            throw e;
+        }
+    }
+
+    private void shipSafely() {
+        try {
+            ship();
+        } catch (Exception e) {
+            log.error("Error shipping geo aggregates, will retry on next interval: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        shipper.shutdown();
+        try {
+            shipper.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        shipSafely();
+    }
+}
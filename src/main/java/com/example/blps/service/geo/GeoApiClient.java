@@ -0,0 +1,149 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.dto.geo.IpWhoResponse;
+import com.example.blps.model.geo.GeoLocationData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class GeoApiClient {
+
+    private static final String IP_WHO_API_URL = "http://ipwho.is/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongAdder rejected = new LongAdder();
+
+    @Value("${geo.api.connect.timeout.ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${geo.api.request.timeout.ms:2000}")
+    private long requestTimeoutMs;
+
+    @Value("${geo.api.max.concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${geo.api.acquire.timeout.ms:500}")
+    private long acquireTimeoutMs;
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private Semaphore permits;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("geo-api-", 0).factory());
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        permits = new Semaphore(maxConcurrent);
+        log.info("Geo API client started: maxConcurrent={}, connectTimeout={} ms, requestTimeout={} ms",
+                maxConcurrent, connectTimeoutMs, requestTimeoutMs);
+    }
+
+    public CompletableFuture<Optional<GeoLocationData>> lookup(String ip) {
+        return CompletableFuture.supplyAsync(() -> lookupBlocking(ip), executor);
+    }
+
+    public int getInFlightCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private Optional<GeoLocationData> lookupBlocking(String ip) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for geo API permit", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RejectedExecutionException("Geo API concurrency limit reached for IP: " + ip);
+        }
+
+        try {
+            return fetch(ip);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Optional<GeoLocationData> fetch(String ip) {
+        try {
+            log.debug("Fetching geo data for IP: {}", ip);
+
+            if (ip.equals("127.0.0.1") || ip.equals("localhost")) {
+                ip = "0:0:0:0:0:0:0:1";
+                log.info("Replaced localhost IP with IPv6 format: {}", ip);
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(IP_WHO_API_URL + ip))
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<byte[]> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (httpResponse.statusCode() != 200) {
+                log.error("IP service returned HTTP {} for IP: {}", httpResponse.statusCode(), ip);
+                return Optional.empty();
+            }
+
+            IpWhoResponse response = objectMapper.readValue(httpResponse.body(), IpWhoResponse.class);
+            log.debug("Got response from IP service: {}", response);
+
+            if (!response.isSuccess()) {
+                log.error("API returned unsuccessful response for IP: {}. Response: {}", ip, response);
+                return Optional.empty();
+            }
+
+            return Optional.of(GeoLocationData.builder()
+                    .country(response.getCountry())
+                    .countryCode(response.getCountryCode())
+                    .region(response.getRegion())
+                    .regionCode(response.getRegionCode())
+                    .city(response.getCity())
+                    .latitude(response.getLatitude())
+                    .longitude(response.getLongitude())
+                    .continent(response.getContinent())
+                    .continentCode(response.getContinentCode())
+                    .timezone(response.getTimezone() != null ? response.getTimezone().getId() : null)
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Error fetching geo data for IP: {}: {}", ip, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
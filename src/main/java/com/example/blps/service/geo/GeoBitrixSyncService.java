@@ -1,117 +1,153 @@
 package com.example.blps.service.geo;
 
 import com.example.blps.components.GeoLocationStorage;
-import com.example.blps.model.geo.GeoLocationData;
+import com.example.blps.components.UniqueVisitorCounter;
+import com.example.blps.model.geo.CampaignCountryKey;
+import com.example.blps.model.geo.GeoAggregateSnapshot;
 import com.example.blps.service.integration.Bitrix24Service;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.blps.utils.HyperLogLog;
 import jakarta.resource.ResourceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GeoBitrixSyncService {
-    
+
+    private static final int TOP_CITIES_IN_REPORT = 5;
+
     private final GeoLocationStorage geoLocationStorage;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final GeoAggregatePersistenceService geoAggregatePersistenceService;
     private final Bitrix24Service bitrix24Service;
-    private final ObjectMapper objectMapper;
-    
-    public void syncGeoDataToBitrix() {
-        List<GeoLocationData> geoDataList = geoLocationStorage.getAndClearAll();
-        
-        if (geoDataList.isEmpty()) {
+    private final Deque<ReportChunk> pendingChunks = new ArrayDeque<>();
+
+    @Value("${geo.report.chunk.max.chars:30000}")
+    private int maxChunkChars;
+
+    @Value("${geo.report.chunk.max.attempts:3}")
+    private int maxAttempts;
+
+    @Value("${geo.report.chunk.retry.delay.ms:500}")
+    private long retryDelayMs;
+
+    @Value("${geo.report.max.pending.chunks:100}")
+    private int maxPendingChunks;
+
+    public synchronized void syncGeoDataToBitrix() {
+        GeoAggregateSnapshot snapshot = geoLocationStorage.getAndClearAll();
+        Map<CampaignCountryKey, HyperLogLog> visitorSketches = uniqueVisitorCounter.drainWindow();
+
+        try {
+            geoAggregatePersistenceService.persist(snapshot);
+        } catch (Exception e) {
+            log.error("Error persisting geo aggregates, keeping them buffered", e);
+            geoLocationStorage.merge(snapshot);
+            uniqueVisitorCounter.restoreWindow(visitorSketches);
+            return;
+        }
+
+        if (snapshot.isEmpty()) {
+            uniqueVisitorCounter.restoreWindow(visitorSketches);
+            if (!pendingChunks.isEmpty() && !deliverPendingChunks()) {
+                log.warn("Bitrix24 still unavailable, {} geo report chunks pending", pendingChunks.size());
+            }
             log.debug("No geo data to sync with Bitrix24");
             return;
         }
-        
-        log.info("Syncing {} geo data records to Bitrix24", geoDataList.size());
-        
+
+        GeoReportAccumulator accumulator = new GeoReportAccumulator().addAll(snapshot.getAggregates());
+        List<String> chunks = accumulator.render(
+                UniqueVisitorCounter.estimates(visitorSketches, null),
+                TOP_CITIES_IN_REPORT,
+                snapshot.getSamples(),
+                snapshot.getSampledFrom(),
+                maxChunkChars);
+
+        log.info("Syncing {} geo aggregates ({} clicks) to Bitrix24 in {} chunks",
+                snapshot.getAggregates().size(), accumulator.getTotalClicks(), chunks.size());
+
+        String title = "Геолокационный отчет - " + LocalDateTime.now();
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunkTitle = chunks.size() == 1 ? title : title + " (" + (i + 1) + "/" + chunks.size() + ")";
+            pendingChunks.addLast(new ReportChunk(chunkTitle, chunks.get(i)));
+        }
+        trimPendingChunks();
+
+        if (deliverPendingChunks()) {
+            log.info("Geo data successfully synced to Bitrix24");
+        } else {
+            log.error("Geo report delivery incomplete, {} chunks will be retried on next sync", pendingChunks.size());
+        }
+    }
+
+    private boolean deliverPendingChunks() {
+        while (!pendingChunks.isEmpty()) {
+            ReportChunk chunk = pendingChunks.peekFirst();
+            if (!deliverWithRetry(chunk)) {
+                return false;
+            }
+            pendingChunks.removeFirst();
+        }
+        return true;
+    }
+
+    private boolean deliverWithRetry(ReportChunk chunk) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Map<String, Object> params = new HashMap<>();
+                params.put("fields[TITLE]", chunk.title);
+                params.put("fields[COMMENTS]", chunk.body);
+                params.put("fields[ASSIGNED_BY_ID]", "1");
+                params.put("fields[SOURCE_ID]", "ADVERTISING");
+                String leadId = bitrix24Service.executeAbstractMethod("crm.lead.add", params);
+                log.debug("Geo report chunk '{}' delivered, lead ID: {}", chunk.title, leadId);
+                return true;
+            } catch (ResourceException e) {
+                log.warn("Error delivering geo report chunk '{}' (attempt {}/{}): {}",
+                        chunk.title, attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts && !sleepQuietly(retryDelayMs * attempt)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void trimPendingChunks() {
+        while (pendingChunks.size() > maxPendingChunks) {
+            ReportChunk dropped = pendingChunks.removeFirst();
+            log.warn("Dropping undelivered geo report chunk '{}', aggregates remain in geo_aggregate", dropped.title);
+        }
+    }
+
+    private boolean sleepQuietly(long millis) {
         try {
-            
-            Map<String, Long> countryStats = geoDataList.stream()
-                    .collect(Collectors.groupingBy(
-                            GeoLocationData::getCountry,
-                            Collectors.summingLong(data -> data.getClickCount().longValue())
-                    ));
-            
-            Map<Long, List<GeoLocationData>> byCampaign = geoDataList.stream()
-                    .filter(data -> data.getCampaignId() != null)
-                    .collect(Collectors.groupingBy(GeoLocationData::getCampaignId));
-            
-            String report = createGeoReport(geoDataList, countryStats, byCampaign);
-            
-            String title = "Геолокационный отчет - " + LocalDateTime.now();
-            Map<String, Object> params = new HashMap<>();
-            params.put("fields[TITLE]", title);
-            params.put("fields[COMMENTS]", report);
-            params.put("fields[ASSIGNED_BY_ID]", "1");
-            params.put("fields[SOURCE_ID]", "ADVERTISING");
-            String taskId = bitrix24Service.executeAbstractMethod("crm.lead.add", params);
-            
-            log.info("Geo data successfully synced to Bitrix24, task ID: {}", taskId);
-            
-        } catch (ResourceException e) {
-            log.error("Error syncing geo data to Bitrix24", e);
-            
-            geoDataList.forEach(data -> geoLocationStorage.addOrUpdateGeoData(data.getIp(), data));
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
-    
-    private String createGeoReport(List<GeoLocationData> geoDataList, 
-                                   Map<String, Long> countryStats,
-                                   Map<Long, List<GeoLocationData>> byCampaign) {
-        StringBuilder report = new StringBuilder();
-        
-        report.append("=== ОТЧЕТ ПО ГЕОЛОКАЦИИ ===\n\n");
-        report.append("Время генерации: ").append(LocalDateTime.now()).append("\n");
-        report.append("Всего записей: ").append(geoDataList.size()).append("\n");
-        report.append("Всего кликов: ").append(
-                geoDataList.stream().mapToInt(GeoLocationData::getClickCount).sum()
-        ).append("\n\n");
-        
-        report.append("=== СТАТИСТИКА ПО СТРАНАМ ===\n");
-        countryStats.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .forEach(entry -> report.append(String.format("%s: %d кликов\n", 
-                        entry.getKey(), entry.getValue())));
-        
-        report.append("\n=== СТАТИСТИКА ПО КАМПАНИЯМ ===\n");
-        byCampaign.forEach((campaignId, dataList) -> {
-            report.append(String.format("\nКампания ID %d:\n", campaignId));
-            
-            Map<String, Long> campaignCountryStats = dataList.stream()
-                    .collect(Collectors.groupingBy(
-                            GeoLocationData::getCountry,
-                            Collectors.summingLong(data -> data.getClickCount().longValue())
-                    ));
-            
-            campaignCountryStats.forEach((country, clicks) -> 
-                    report.append(String.format("  - %s: %d кликов\n", country, clicks)));
-        });
-        
-        report.append("\n=== ДЕТАЛЬНАЯ ИНФОРМАЦИЯ ===\n");
-        
-        geoDataList.stream().limit(10).forEach(data -> {
-            report.append(String.format("\nIP: %s\n", data.getIp()));
-            report.append(String.format("Страна: %s (%s)\n", data.getCountry(), data.getCountryCode()));
-            report.append(String.format("Регион: %s\n", data.getRegion()));
-            report.append(String.format("Город: %s\n", data.getCity()));
-            report.append(String.format("Кликов: %d\n", data.getClickCount()));
-            report.append(String.format("Время: %s\n", data.getTimestamp()));
-        });
-        
-        if (geoDataList.size() > 10) {
-            report.append("\n... и еще ").append(geoDataList.size() - 10).append(" записей\n");
+
+    private static final class ReportChunk {
+        private final String title;
+        private final String body;
+
+        ReportChunk(String title, String body) {
+            this.title = title;
+            this.body = body;
         }
-        
-        return report.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.service.notification.StompMessageService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class GeoEventPublisher {
+
+    private final StompMessageService stompMessageService;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @Value("${geo.publisher.buffer.size:65536}")
+    private int bufferSize;
+
+    @Value("${geo.publisher.batch.size:500}")
+    private int batchSize;
+
+    @Value("${geo.publisher.linger.ms:50}")
+    private long lingerMs;
+
+    @Value("${geo.publisher.overflow.policy:DROP_NEWEST}")
+    private GeoOverflowPolicy overflowPolicy;
+
+    private BlockingQueue<GeoLocationProcessingService.GeoLocationRequest> ringBuffer;
+    private Thread publisherThread;
+    private volatile boolean running;
+
+    public GeoEventPublisher(StompMessageService stompMessageService) {
+        this.stompMessageService = stompMessageService;
+    }
+
+    @PostConstruct
+    public void start() {
+        ringBuffer = new ArrayBlockingQueue<>(bufferSize);
+        running = true;
+        publisherThread = new Thread(this::publishLoop, "geo-event-publisher");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+        log.info("Geo event publisher started: bufferSize={}, batchSize={}, overflowPolicy={}",
+                bufferSize, batchSize, overflowPolicy);
+    }
+
+    public void publish(GeoLocationProcessingService.GeoLocationRequest request) {
+        if (ringBuffer.offer(request)) {
+            return;
+        }
+
+        if (overflowPolicy == GeoOverflowPolicy.DROP_OLDEST) {
+            while (!ringBuffer.offer(request)) {
+                if (ringBuffer.poll() != null) {
+                    dropped.increment();
+                }
+            }
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getBufferedCount() {
+        return ringBuffer.size();
+    }
+
+    private void publishLoop() {
+        List<GeoLocationProcessingService.GeoLocationRequest> batch = new ArrayList<>(batchSize);
+        while (running || !ringBuffer.isEmpty()) {
+            try {
+                GeoLocationProcessingService.GeoLocationRequest first = ringBuffer.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ringBuffer.drainTo(batch, batchSize - 1);
+
+                if (stompMessageService.sendBatch(GeoLocationProcessingService.GEO_PROCESSING_QUEUE, batch)) {
+                    published.add(batch.size());
+                } else {
+                    failed.add(batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failed.add(batch.size());
+                log.error("Error publishing geo events batch: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Geo event publisher stopped: published={}, dropped={}, failed={}",
+                published.sum(), dropped.sum(), failed.sum());
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.utils.IpKey;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class GeoIpDatabase {
+
+    private static final int COLUMNS = 12;
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setCommentMarker('#')
+            .setTrim(true)
+            .build();
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile RangeTable table = RangeTable.EMPTY;
+
+    public GeoIpDatabase(ResourceLoader resourceLoader,
+                         @Value("${geo.database.location:}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (location.isBlank()) {
+            log.info("Local geo database disabled, no geo.database.location configured");
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to load local geo database from {}, lookups will miss: {}", location, e.getMessage());
+        }
+    }
+
+    public synchronized void reload() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        long started = System.currentTimeMillis();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            table = RangeTable.load(reader);
+        }
+        log.info("Local geo database loaded from {}: {} ranges, {} locations in {} ms",
+                location, table.size(), table.locations.length, System.currentTimeMillis() - started);
+    }
+
+    public boolean isLoaded() {
+        return table.size() > 0;
+    }
+
+    public int getRangeCount() {
+        return table.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public Optional<Location> lookup(IpKey ip) {
+        RangeTable current = table;
+        if (current.size() == 0 || ip == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        Location found = current.find(ip.getHi(), ip.getLo());
+        if (found == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(found);
+    }
+
+    private static int compare(long hiA, long loA, long hiB, long loB) {
+        int result = Long.compareUnsigned(hiA, hiB);
+        return result != 0 ? result : Long.compareUnsigned(loA, loB);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static final class Location {
+        private final String countryCode;
+        private final String country;
+        private final String regionCode;
+        private final String region;
+        private final String city;
+        private final Double latitude;
+        private final Double longitude;
+        private final String timezone;
+        private final String continentCode;
+        private final String continent;
+    }
+
+    private static final class RangeTable {
+
+        static final RangeTable EMPTY = new RangeTable(new long[0], new long[0], new long[0], new long[0],
+                new int[0], new Location[0]);
+
+        final long[] startHi;
+        final long[] startLo;
+        final long[] endHi;
+        final long[] endLo;
+        final int[] locationIndex;
+        final Location[] locations;
+
+        RangeTable(long[] startHi, long[] startLo, long[] endHi, long[] endLo, int[] locationIndex, Location[] locations) {
+            this.startHi = startHi;
+            this.startLo = startLo;
+            this.endHi = endHi;
+            this.endLo = endLo;
+            this.locationIndex = locationIndex;
+            this.locations = locations;
+        }
+
+        int size() {
+            return startHi.length;
+        }
+
+        Location find(long hi, long lo) {
+            int low = 0;
+            int high = startHi.length - 1;
+            int candidate = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compare(startHi[mid], startLo[mid], hi, lo) <= 0) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (candidate < 0 || compare(hi, lo, endHi[candidate], endLo[candidate]) > 0) {
+                return null;
+            }
+            return locations[locationIndex[candidate]];
+        }
+
+        static RangeTable load(Reader reader) throws IOException {
+            List<long[]> bounds = new ArrayList<>();
+            List<Integer> rangeLocations = new ArrayList<>();
+            Map<Location, Integer> locationIds = new HashMap<>();
+            List<Location> locations = new ArrayList<>();
+
+            int skipped = 0;
+            for (CSVRecord record : CSV_FORMAT.parse(reader)) {
+                if ("start_ip".equals(record.get(0))) {
+                    continue;
+                }
+                IpKey start = record.size() < COLUMNS ? null : IpKey.parse(record.get(0));
+                IpKey end = record.size() < COLUMNS ? null : IpKey.parse(record.get(1));
+                if (start == null || end == null) {
+                    skipped++;
+                    log.debug("Skipping malformed geo database record {}", record.getRecordNumber());
+                    continue;
+                }
+
+                bounds.add(new long[]{start.getHi(), start.getLo(), end.getHi(), end.getLo()});
+
+                Location location = new Location(
+                        emptyToNull(record.get(2)), emptyToNull(record.get(3)), emptyToNull(record.get(4)),
+                        emptyToNull(record.get(5)), emptyToNull(record.get(6)), parseDouble(record.get(7)),
+                        parseDouble(record.get(8)), emptyToNull(record.get(9)), emptyToNull(record.get(10)),
+                        emptyToNull(record.get(11)));
+                Integer id = locationIds.get(location);
+                if (id == null) {
+                    id = locations.size();
+                    locationIds.put(location, id);
+                    locations.add(location);
+                }
+                rangeLocations.add(id);
+            }
+            if (skipped > 0) {
+                log.warn("Skipped {} malformed geo database lines", skipped);
+            }
+
+            Integer[] order = new Integer[bounds.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> compare(bounds.get(a)[0], bounds.get(a)[1], bounds.get(b)[0], bounds.get(b)[1]));
+
+            int size = order.length;
+            long[] startHi = new long[size];
+            long[] startLo = new long[size];
+            long[] endHi = new long[size];
+            long[] endLo = new long[size];
+            int[] locationIndex = new int[size];
+            for (int i = 0; i < size; i++) {
+                long[] range = bounds.get(order[i]);
+                startHi[i] = range[0];
+                startLo[i] = range[1];
+                endHi[i] = range[2];
+                endLo[i] = range[3];
+                locationIndex[i] = rangeLocations.get(order[i]);
+            }
+            return new RangeTable(startHi, startLo, endHi, endLo, locationIndex, locations.toArray(new Location[0]));
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+
+        private static Double parseDouble(String value) {
+            if (value.isEmpty()) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
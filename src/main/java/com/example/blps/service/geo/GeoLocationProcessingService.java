@@ -1,23 +1,90 @@
 package com.example.blps.service.geo;
 
 import com.example.blps.components.GeoLocationStorage;
+import com.example.blps.components.HeavyHitterTracker;
+import com.example.blps.components.UniqueVisitorCounter;
 import com.example.blps.model.geo.GeoLocationData;
-import lombok.RequiredArgsConstructor;
+import com.example.blps.utils.IpKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GeoLocationProcessingService {
     
     private final GeoLocationService geoLocationService;
     private final GeoLocationStorage geoLocationStorage;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final JmsTemplate jmsTemplate;
     
     public static final String GEO_PROCESSING_QUEUE = "geo.processing.queue";
+
+    @Value("${geo.processing.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${geo.processing.batch.size:200}")
+    private int batchSize;
+
+    @Value("${geo.processing.batch.wait.ms:100}")
+    private long batchWaitMs;
+
+    @Value("${geo.processing.batch.consumers:2}")
+    private int batchConsumers;
+
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public GeoLocationProcessingService(GeoLocationService geoLocationService,
+                                        GeoLocationStorage geoLocationStorage,
+                                        UniqueVisitorCounter uniqueVisitorCounter,
+                                        HeavyHitterTracker heavyHitterTracker,
+                                        JmsTemplate jmsTemplate) {
+        this.geoLocationService = geoLocationService;
+        this.geoLocationStorage = geoLocationStorage;
+        this.uniqueVisitorCounter = uniqueVisitorCounter;
+        this.heavyHitterTracker = heavyHitterTracker;
+        this.jmsTemplate = jmsTemplate;
+    }
+
+    @PostConstruct
+    public void startBatchConsumers() {
+        if (!batchEnabled) {
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < batchConsumers; i++) {
+            Thread thread = new Thread(this::consumeBatches, "geo-batch-consumer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            consumerThreads.add(thread);
+        }
+        log.info("Geo batch consumers started: consumers={}, batchSize={}, wait={} ms",
+                batchConsumers, batchSize, batchWaitMs);
+    }
     
-    @JmsListener(destination = GEO_PROCESSING_QUEUE)
+    @JmsListener(destination = GEO_PROCESSING_QUEUE, containerFactory = "geoListenerContainerFactory")
     public void processGeoLocationRequest(GeoLocationRequest request) {
         log.debug("Processing geo location request for IP: {}", request.getIp());
         
@@ -28,12 +95,140 @@ public class GeoLocationProcessingService {
                     request.getCampaignId()
             );
             
-            geoLocationStorage.addOrUpdateGeoData(request.getIp(), geoData);
+            geoLocationStorage.addOrUpdateGeoData(geoData, geoData.getCampaignId(), 1);
+            uniqueVisitorCounter.offer(request.getCampaignId(), geoData.getCountryCode(), request.getIp());
+            heavyHitterTracker.offer(request.getCampaignId(), request.getIp(), geoData, 1);
             
         } catch (Exception e) {
             log.error("Error processing geo location request for IP: {}", request.getIp(), e);
         }
     }
+
+    public void processGeoLocationRequests(List<GeoLocationRequest> requests) {
+        Map<GeoLocationRequest, Integer> clicksByRequest = new LinkedHashMap<>();
+        Map<IpKey, GeoLocationRequest> firstByIp = new LinkedHashMap<>();
+        for (GeoLocationRequest request : requests) {
+            clicksByRequest.merge(request, 1, Integer::sum);
+            firstByIp.putIfAbsent(request.getIp(), request);
+        }
+
+        Map<IpKey, CompletableFuture<GeoLocationData>> lookups = new LinkedHashMap<>();
+        firstByIp.forEach((ip, request) -> lookups.put(ip,
+                geoLocationService.getGeoDataAsync(ip, request.getReferralHash(), request.getCampaignId())));
+
+        Map<IpKey, GeoLocationData> dataByIp = new HashMap<>();
+        lookups.forEach((ip, lookup) -> {
+            try {
+                dataByIp.put(ip, lookup.join());
+            } catch (Exception e) {
+                log.error("Error processing geo location request for IP: {}", ip, e);
+            }
+        });
+
+        clicksByRequest.forEach((request, clicks) -> {
+            GeoLocationData data = attributedTo(dataByIp.get(request.getIp()), request);
+            if (data != null) {
+                geoLocationStorage.addOrUpdateGeoData(data, request.getCampaignId(), clicks);
+                uniqueVisitorCounter.offer(request.getCampaignId(), data.getCountryCode(), request.getIp());
+                heavyHitterTracker.offer(request.getCampaignId(), request.getIp(), data, clicks);
+            }
+        });
+        log.debug("Processed batch of {} geo requests for {} distinct IPs", requests.size(), firstByIp.size());
+    }
+
+    private GeoLocationData attributedTo(GeoLocationData data, GeoLocationRequest request) {
+        if (data == null || (Objects.equals(data.getCampaignId(), request.getCampaignId())
+                && Objects.equals(data.getReferralHash(), request.getReferralHash()))) {
+            return data;
+        }
+        return data.toBuilder()
+                .campaignId(request.getCampaignId())
+                .referralHash(request.getReferralHash())
+                .build();
+    }
+
+    private void consumeBatches() {
+        while (running) {
+            try {
+                jmsTemplate.execute(this::consumeFromSession, true);
+            } catch (Exception e) {
+                log.error("Geo batch consumer failed, reconnecting: {}", e.getMessage());
+                sleepQuietly(batchWaitMs * 10);
+            }
+        }
+    }
+
+    private Void consumeFromSession(Session session) throws JMSException {
+        MessageConverter converter = jmsTemplate.getMessageConverter();
+        try (MessageConsumer consumer = session.createConsumer(session.createQueue(GEO_PROCESSING_QUEUE))) {
+            List<GeoLocationRequest> batch = new ArrayList<>(batchSize);
+            while (running) {
+                receiveBatch(consumer, converter, batch);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    processGeoLocationRequests(batch);
+                    session.commit();
+                } catch (Exception e) {
+                    session.rollback();
+                    throw e;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void receiveBatch(MessageConsumer consumer, MessageConverter converter,
+                              List<GeoLocationRequest> batch) throws JMSException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWaitMs);
+        while (batch.size() < batchSize) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return;
+            }
+
+            Message message = consumer.receive(remainingMs);
+            if (message == null) {
+                return;
+            }
+
+            try {
+                Object payload = converter.fromMessage(message);
+                if (payload instanceof GeoLocationRequest request) {
+                    batch.add(request);
+                } else {
+                    log.warn("Skipping unexpected message on {}: {}", GEO_PROCESSING_QUEUE, payload);
+                }
+            } catch (MessageConversionException e) {
+                log.error("Skipping unreadable message on {}: {}", GEO_PROCESSING_QUEUE, e.getMessage());
+            }
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void stopBatchConsumers() {
+        running = false;
+        for (Thread thread : consumerThreads) {
+            try {
+                thread.join(batchWaitMs * 2 + TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
     
     @lombok.Data
     @lombok.Builder
@@ -42,8 +237,8 @@ public class GeoLocationProcessingService {
     public static class GeoLocationRequest implements java.io.Serializable {
         private static final long serialVersionUID = 1L;
         
-        private String ip;
+        private IpKey ip;
         private String referralHash;
         private Long campaignId;
     }
-}
\ No newline at end of file
+}
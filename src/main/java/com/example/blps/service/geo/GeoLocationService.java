@@ -1,72 +1,130 @@
 package com.example.blps.service.geo;
 
-import com.example.blps.dto.geo.IpWhoResponse;
+import com.example.blps.components.GeoLookupCache;
 import com.example.blps.model.geo.GeoLocationData;
+import com.example.blps.utils.IpKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GeoLocationService {
 
-    private static final String IP_WHO_API_URL = "http://ipwho.is/";
-    private final RestTemplate restTemplate;
+    private final GeoApiClient geoApiClient;
+    private final GeoIpDatabase geoIpDatabase;
+    private final GeoLookupCache geoLookupCache;
+    private final Map<IpKey, CompletableFuture<Optional<GeoLocationData>>> inFlightLookups = new ConcurrentHashMap<>();
 
-    public GeoLocationData getGeoData(String ip, String referralHash, Long campaignId) {
-        try {
-            log.debug("Fetching geo data for IP: {}", ip);
+    @Value("${geo.fallback.api.enabled:true}")
+    private boolean fallbackApiEnabled;
 
-            if (ip.equals("127.0.0.1") || ip.equals("localhost")) {
-                ip = "0:0:0:0:0:0:0:1";
-                log.info("Replaced localhost IP with IPv6 format: {}", ip);
-            }
+    public GeoLocationData getGeoData(IpKey ip, String referralHash, Long campaignId) {
+        return getGeoDataAsync(ip, referralHash, campaignId).join();
+    }
 
-            String url = IP_WHO_API_URL + ip;
-            IpWhoResponse response = restTemplate.getForObject(url, IpWhoResponse.class);
-
-            if (response != null) {
-                log.info("Got response from IP service: {}", response);
-
-                if (response.isSuccess()) {
-                    return GeoLocationData.builder()
-                            .ip(ip)
-                            .country(response.getCountry())
-                            .countryCode(response.getCountryCode())
-                            .region(response.getRegion())
-                            .regionCode(response.getRegionCode())
-                            .city(response.getCity())
-                            .latitude(response.getLatitude())
-                            .longitude(response.getLongitude())
-                            .continent(response.getContinent())
-                            .continentCode(response.getContinentCode())
-                            .timezone(response.getTimezone() != null ? response.getTimezone().getId() : null)
-                            .timestamp(LocalDateTime.now())
-                            .referralHash(referralHash)
-                            .campaignId(campaignId)
-                            .clickCount(1)
-                            .build();
-                } else {
-                    log.error("API returned unsuccessful response for IP: {}. Response: {}", ip, response);
+    public CompletableFuture<GeoLocationData> getGeoDataAsync(IpKey ip, String referralHash, Long campaignId) {
+        Optional<GeoIpDatabase.Location> local = geoIpDatabase.lookup(ip);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(forClick(fromLocation(local.get()), ip, referralHash, campaignId));
+        }
+
+        if (!fallbackApiEnabled) {
+            log.debug("No local geo data for IP: {}, fallback API disabled", ip);
+            return CompletableFuture.completedFuture(createDefaultGeoData(ip, referralHash, campaignId));
+        }
+
+        IpKey cacheKey = geoLookupCache.keyFor(ip);
+        GeoLocationData cached = geoLookupCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(forClick(cached, ip, referralHash, campaignId));
+        }
+        if (geoLookupCache.isKnownFailure(cacheKey)) {
+            log.debug("Skipping geo lookup for IP: {}, recent lookup for {} failed", ip, cacheKey);
+            return CompletableFuture.completedFuture(createDefaultGeoData(ip, referralHash, campaignId));
+        }
+
+        return fetchCoalesced(ip, cacheKey)
+                .thenApply(fetched -> fetched
+                        .map(location -> forClick(location, ip, referralHash, campaignId))
+                        .orElseGet(() -> createDefaultGeoData(ip, referralHash, campaignId)))
+                .exceptionally(e -> {
+                    log.warn("Geo lookup for IP: {} not completed: {}", ip, e.getMessage());
                     return createDefaultGeoData(ip, referralHash, campaignId);
+                });
+    }
+
+    private CompletableFuture<Optional<GeoLocationData>> fetchCoalesced(IpKey ip, IpKey cacheKey) {
+        CompletableFuture<Optional<GeoLocationData>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<GeoLocationData>> inFlight = inFlightLookups.putIfAbsent(cacheKey, lookup);
+        if (inFlight != null) {
+            log.debug("Joining in-flight geo lookup for {}", cacheKey);
+            return inFlight;
+        }
+
+        CompletableFuture<Optional<GeoLocationData>> fetch;
+        try {
+            fetch = geoApiClient.lookup(ip.toString());
+        } catch (RuntimeException e) {
+            inFlightLookups.remove(cacheKey, lookup);
+            lookup.completeExceptionally(e);
+            return lookup;
+        }
+
+        fetch.whenComplete((fetched, error) -> {
+            if (error == null) {
+                if (fetched.isPresent()) {
+                    geoLookupCache.put(cacheKey, fetched.get());
+                } else {
+                    geoLookupCache.putFailure(cacheKey);
                 }
+            }
+            inFlightLookups.remove(cacheKey, lookup);
+            if (error != null) {
+                lookup.completeExceptionally(error);
             } else {
-                log.error("No response from IP service for IP: {}", ip);
-                return createDefaultGeoData(ip, referralHash, campaignId);
+                lookup.complete(fetched);
             }
-        } catch (Exception e) {
-            log.error("Error fetching geo data for IP: {}", ip, e);
-            return createDefaultGeoData(ip, referralHash, campaignId);
-        }
+        });
+        return lookup;
+    }
+
+    private GeoLocationData fromLocation(GeoIpDatabase.Location location) {
+        return GeoLocationData.builder()
+                .country(location.getCountry())
+                .countryCode(location.getCountryCode())
+                .region(location.getRegion())
+                .regionCode(location.getRegionCode())
+                .city(location.getCity())
+                .latitude(location.getLatitude())
+                .longitude(location.getLongitude())
+                .continent(location.getContinent())
+                .continentCode(location.getContinentCode())
+                .timezone(location.getTimezone())
+                .build();
+    }
+
+    private GeoLocationData forClick(GeoLocationData location, IpKey ip, String referralHash, Long campaignId) {
+        return location.toBuilder()
+                .ip(ip.toString())
+                .timestamp(LocalDateTime.now())
+                .referralHash(referralHash)
+                .campaignId(campaignId)
+                .clickCount(1)
+                .build();
     }
 
-    private GeoLocationData createDefaultGeoData(String ip, String referralHash, Long campaignId) {
+    private GeoLocationData createDefaultGeoData(IpKey ip, String referralHash, Long campaignId) {
         return GeoLocationData.builder()
-                .ip(ip)
+                .ip(ip.toString())
                 .country("Unknown")
                 .countryCode("XX")
                 .timestamp(LocalDateTime.now())
@@ -75,4 +133,4 @@ public class GeoLocationService {
                 .clickCount(1)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package com.example.blps.service.geo;
+
+public enum GeoOverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST
+}
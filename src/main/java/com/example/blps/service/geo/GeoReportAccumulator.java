@@ -0,0 +1,148 @@
+package com.example.blps.service.geo;
+
+import com.example.blps.dto.geo.UniqueVisitorsDTO;
+import com.example.blps.model.geo.GeoAggregate;
+import com.example.blps.model.geo.GeoLocationData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GeoReportAccumulator {
+
+    private static final String UNKNOWN_COUNTRY = "Unknown";
+
+    private final Map<String, long[]> countryClicks = new HashMap<>();
+    private final Map<Long, Map<String, long[]>> campaignCountryClicks = new LinkedHashMap<>();
+    private final Map<Long, Map<String, long[]>> campaignCityClicks = new HashMap<>();
+    private long totalClicks;
+    private int records;
+
+    public GeoReportAccumulator addAll(List<GeoAggregate> aggregates) {
+        for (GeoAggregate aggregate : aggregates) {
+            add(aggregate);
+        }
+        return this;
+    }
+
+    public void add(GeoAggregate aggregate) {
+        String country = aggregate.getCountry() != null ? aggregate.getCountry() : UNKNOWN_COUNTRY;
+        long clicks = aggregate.getClicks();
+
+        records++;
+        totalClicks += clicks;
+        countryClicks.computeIfAbsent(country, key -> new long[1])[0] += clicks;
+        if (aggregate.getCampaignId() != null) {
+            campaignCountryClicks
+                    .computeIfAbsent(aggregate.getCampaignId(), key -> new HashMap<>())
+                    .computeIfAbsent(country, key -> new long[1])[0] += clicks;
+            campaignCityClicks
+                    .computeIfAbsent(aggregate.getCampaignId(), key -> new HashMap<>())
+                    .computeIfAbsent(cityOf(aggregate), key -> new long[1])[0] += clicks;
+        }
+    }
+
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    public List<String> render(List<UniqueVisitorsDTO> uniqueVisitors,
+                               int topCitiesPerCampaign,
+                               List<GeoLocationData> samples,
+                               long sampledFrom,
+                               int maxChunkChars) {
+        ChunkWriter writer = new ChunkWriter(maxChunkChars);
+
+        writer.line("=== ОТЧЕТ ПО ГЕОЛОКАЦИИ ===").line("");
+        writer.line("Время генерации: ", String.valueOf(LocalDateTime.now()));
+        writer.line("Всего записей: ", String.valueOf(records));
+        writer.line("Всего кликов: ", String.valueOf(totalClicks)).line("");
+
+        writer.line("=== СТАТИСТИКА ПО СТРАНАМ ===");
+        sortedByClicks(countryClicks).forEach(entry ->
+                writer.line(entry.getKey(), ": ", String.valueOf(entry.getValue()[0]), " кликов"));
+
+        writer.line("").line("=== СТАТИСТИКА ПО КАМПАНИЯМ ===");
+        campaignCountryClicks.forEach((campaignId, countries) -> {
+            writer.line("").line("Кампания ID ", String.valueOf(campaignId), ":");
+            sortedByClicks(countries).forEach(entry ->
+                    writer.line("  - ", entry.getKey(), ": ", String.valueOf(entry.getValue()[0]), " кликов"));
+
+            writer.line("  Топ городов:");
+            sortedByClicks(campaignCityClicks.get(campaignId)).stream().limit(topCitiesPerCampaign).forEach(entry ->
+                    writer.line("    ", entry.getKey(), ": ", String.valueOf(entry.getValue()[0]), " кликов"));
+        });
+
+        writer.line("").line("=== УНИКАЛЬНЫЕ ПОСЕТИТЕЛИ (оценка) ===");
+        Long currentCampaign = null;
+        for (UniqueVisitorsDTO estimate : uniqueVisitors) {
+            if (!estimate.getCampaignId().equals(currentCampaign)) {
+                currentCampaign = estimate.getCampaignId();
+                writer.line("").line("Кампания ID ", String.valueOf(currentCampaign), ":");
+            }
+            writer.line("  - ", estimate.getCountryCode(), ": ~", String.valueOf(estimate.getUniqueVisitors()), " посетителей");
+        }
+
+        writer.line("").line("=== ДЕТАЛЬНАЯ ИНФОРМАЦИЯ ===");
+        for (GeoLocationData data : samples) {
+            writer.line("").line("IP: ", data.getIp());
+            writer.line("Страна: ", data.getCountry(), " (", data.getCountryCode(), ")");
+            writer.line("Регион: ", data.getRegion());
+            writer.line("Город: ", data.getCity());
+            writer.line("Время: ", String.valueOf(data.getTimestamp()));
+        }
+        if (sampledFrom > samples.size()) {
+            writer.line("").line("... случайная выборка из ", String.valueOf(sampledFrom), " записей");
+        }
+
+        return writer.finish();
+    }
+
+    private static String cityOf(GeoAggregate aggregate) {
+        return (aggregate.getCity() != null ? aggregate.getCity() : "Unknown") + ", "
+                + (aggregate.getCountryCode() != null ? aggregate.getCountryCode() : "XX");
+    }
+
+    private static List<Map.Entry<String, long[]>> sortedByClicks(Map<String, long[]> clicks) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(clicks.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        return entries;
+    }
+
+    private static final class ChunkWriter {
+        private final int maxChunkChars;
+        private final List<String> chunks = new ArrayList<>();
+        private final StringBuilder current;
+        private final StringBuilder line = new StringBuilder();
+
+        ChunkWriter(int maxChunkChars) {
+            this.maxChunkChars = maxChunkChars;
+            this.current = new StringBuilder(maxChunkChars);
+        }
+
+        ChunkWriter line(String... parts) {
+            line.setLength(0);
+            for (String part : parts) {
+                line.append(part);
+            }
+            line.append('\n');
+
+            if (current.length() > 0 && current.length() + line.length() > maxChunkChars) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            current.append(line);
+            return this;
+        }
+
+        List<String> finish() {
+            if (current.length() > 0) {
+                chunks.add(current.toString());
+            }
+            return chunks;
+        }
+    }
+}
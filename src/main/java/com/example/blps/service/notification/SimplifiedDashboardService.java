@@ -39,7 +39,8 @@ public class SimplifiedDashboardService {
 
         try {
             
-            List<CampaignReportDTO> reports = reportService.getCampaignsReportData();
+            List<CampaignReportDTO> reports = reportService.getCampaignsReportData(
+                    request.getStartDate(), request.getEndDate());
 
             if (reports.isEmpty()) {
                 log.warn("No campaign data available for report generation");
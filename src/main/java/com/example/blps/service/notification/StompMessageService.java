@@ -10,16 +10,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @Slf4j
 public class StompMessageService {
 
-    private StompConnection connection;
     private final ObjectMapper objectMapper;
-    private volatile boolean connected = false;
+    private final Channel messageChannel = new Channel("messages");
+    private final Channel batchChannel = new Channel("batches");
 
     @Value("${spring.activemq.stomp.host:localhost}")
     private String stompHost;
@@ -42,72 +45,148 @@ public class StompMessageService {
     @PostConstruct
     public void init() {
         try {
-            connect();
+            synchronized (messageChannel) {
+                messageChannel.connect();
+            }
+            synchronized (batchChannel) {
+                batchChannel.connect();
+            }
         } catch (Exception e) {
             log.error("Failed to initialize STOMP connection", e);
         }
     }
 
-    private void connect() {
-        try {
-            connection = new StompConnection();
-            connection.open(stompHost, stompPort);
-            connection.connect(username, password);
-            connected = true;
-
-            log.info("Successfully connected to ActiveMQ via STOMP at {}:{}", stompHost, stompPort);
-        } catch (Exception e) {
-            connected = false;
-            log.error("Failed to connect to ActiveMQ via STOMP", e);
-        }
-    }
-
     public void sendMessage(String destination, Object message) {
         sendMessage(destination, message, null);
     }
 
     public void sendMessage(String destination, Object message, Map<String, String> additionalHeaders) {
         try {
-            if (!connected) {
-                log.warn("STOMP connection not established, attempting reconnect");
-                connect();
+            String jsonMessage = objectMapper.writeValueAsString(message);
+            HashMap<String, String> headers = buildHeaders(message, additionalHeaders);
+
+            synchronized (messageChannel) {
+                StompConnection connection = messageChannel.open();
+                if (connection == null) {
+                    log.warn("Unable to send message - STOMP connection not available");
+                    return;
+                }
+                try {
+                    connection.send(destination, jsonMessage, null, headers);
+                } catch (Exception e) {
+                    messageChannel.connected = false;
+                    throw e;
+                }
             }
 
-            if (connected && connection != null) {
-                
-                String jsonMessage = objectMapper.writeValueAsString(message);
-
-                HashMap<String, String> headers = new HashMap<>();
-                headers.put("persistent", "true");
-                headers.put("content-type", "application/json");
-                headers.put("_type", message.getClass().getName());
+            log.debug("Message sent via STOMP to destination: {}", destination);
+        } catch (Exception e) {
+            log.error("Error sending message via STOMP: {}", e.getMessage());
+        }
+    }
 
-                if (additionalHeaders != null) {
-                    headers.putAll(additionalHeaders);
-                }
+    public boolean sendBatch(String destination, List<?> messages) {
+        if (messages.isEmpty()) {
+            return true;
+        }
 
-                connection.send(destination, jsonMessage, null, headers);
+        try {
+            List<String> jsonMessages = new ArrayList<>(messages.size());
+            for (Object message : messages) {
+                jsonMessages.add(objectMapper.writeValueAsString(message));
+            }
 
-                log.debug("Message sent via STOMP to destination: {}", destination);
-            } else {
-                log.warn("Unable to send message - STOMP connection not available");
+            synchronized (batchChannel) {
+                StompConnection connection = batchChannel.open();
+                if (connection == null) {
+                    log.warn("Unable to send batch - STOMP connection not available");
+                    return false;
+                }
+                try {
+                    String transaction = "tx-" + UUID.randomUUID();
+                    connection.begin(transaction);
+                    for (int i = 0; i < messages.size(); i++) {
+                        connection.send(destination, jsonMessages.get(i), transaction,
+                                buildHeaders(messages.get(i), null));
+                    }
+                    connection.commit(transaction);
+                } catch (Exception e) {
+                    batchChannel.connected = false;
+                    throw e;
+                }
             }
+
+            log.debug("Batch of {} messages sent via STOMP to destination: {}", messages.size(), destination);
+            return true;
         } catch (Exception e) {
-            connected = false;
-            log.error("Error sending message via STOMP: {}", e.getMessage());
+            log.error("Error sending batch via STOMP: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private HashMap<String, String> buildHeaders(Object message, Map<String, String> additionalHeaders) {
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put("persistent", "true");
+        headers.put("content-type", "application/json");
+        headers.put("_type", message.getClass().getName());
+
+        if (additionalHeaders != null) {
+            headers.putAll(additionalHeaders);
         }
+        return headers;
     }
 
     @PreDestroy
     public void cleanup() {
-        try {
-            if (connection != null) {
-                connection.disconnect();
+        synchronized (messageChannel) {
+            messageChannel.close();
+        }
+        synchronized (batchChannel) {
+            batchChannel.close();
+        }
+    }
+
+    private final class Channel {
+        private final String name;
+        private StompConnection connection;
+        private boolean connected;
+
+        Channel(String name) {
+            this.name = name;
+        }
+
+        StompConnection open() {
+            if (!connected) {
+                log.warn("STOMP {} connection not established, attempting reconnect", name);
+                connect();
+            }
+            return connected ? connection : null;
+        }
+
+        void connect() {
+            try {
+                connection = new StompConnection();
+                connection.open(stompHost, stompPort);
+                connection.connect(username, password);
+                connected = true;
+
+                log.info("Successfully connected to ActiveMQ via STOMP at {}:{} ({})", stompHost, stompPort, name);
+            } catch (Exception e) {
                 connected = false;
-                log.info("STOMP connection closed");
+                log.error("Failed to connect to ActiveMQ via STOMP ({})", name, e);
+            }
+        }
+
+        void close() {
+            try {
+                if (connection != null) {
+                    connection.disconnect();
+                    connected = false;
+                    log.info("STOMP {} connection closed", name);
+                }
+            } catch (Exception e) {
+                log.error("Error closing STOMP {} connection", name, e);
             }
-        } catch (Exception e) {
-            log.error("Error closing STOMP connection", e);
         }
     }
-}
\ No newline at end of file
+}
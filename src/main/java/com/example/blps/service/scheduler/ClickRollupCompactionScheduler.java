@@ -0,0 +1,63 @@
+package com.example.blps.service.scheduler;
+
+import com.example.blps.service.data.ClickRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+@Component
+@ConditionalOnProperty(name = "scheduler.master.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ClickRollupCompactionScheduler {
+
+    private final Scheduler scheduler;
+
+    @Value("${click.rollup.compaction.interval.minutes:15}")
+    private int compactionIntervalMinutes;
+
+    @PostConstruct
+    public void initializeJob() {
+        try {
+            JobDetail jobDetail = JobBuilder.newJob(ClickRollupCompactionJob.class)
+                    .withIdentity("clickRollupCompactionJob", "clickGroup")
+                    .storeDurably()
+                    .build();
+
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .withIdentity("clickRollupCompactionTrigger", "clickGroup")
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                            .withIntervalInMinutes(compactionIntervalMinutes)
+                            .repeatForever())
+                    .startNow()
+                    .build();
+
+            scheduler.scheduleJob(jobDetail, trigger);
+            log.info("Click rollup compaction job scheduled with interval: {} minutes", compactionIntervalMinutes);
+
+        } catch (Exception e) {
+            log.error("Error scheduling click rollup compaction job", e);
+        }
+    }
+
+    @Slf4j
+    @DisallowConcurrentExecution
+    public static class ClickRollupCompactionJob extends BaseQuartzJob {
+
+        @Override
+        protected void executeInternal(JobExecutionContext context) throws Exception {
+            try {
+                ClickRollupService clickRollupService = applicationContext.getBean(ClickRollupService.class);
+                clickRollupService.compact();
+            } catch (Exception e) {
+                log.error("Error during click rollup compaction", e);
+                throw new JobExecutionException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blps.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+public final class CidrTrie {
+
+    private static final int INITIAL_NODES = 64;
+
+    private int[] zero = new int[INITIAL_NODES];
+    private int[] one = new int[INITIAL_NODES];
+    private boolean[] terminal = new boolean[INITIAL_NODES];
+    private int nodes = 1;
+    private int prefixes;
+
+    public static CidrTrie of(Collection<String> cidrs) {
+        CidrTrie trie = new CidrTrie();
+        for (String cidr : cidrs) {
+            if (cidr != null && !cidr.isBlank()) {
+                trie.add(cidr);
+            }
+        }
+        return trie;
+    }
+
+    public void add(String cidr) {
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        IpKey network = IpKey.parse(value, 0, slash < 0 ? value.length() : slash);
+        if (network == null) {
+            throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+        }
+
+        int prefixLength = IpKey.BITS;
+        if (slash >= 0) {
+            int maxLength = network.isIpv4() ? IpKey.BITS - IpKey.IPV4_OFFSET_BITS : IpKey.BITS;
+            try {
+                prefixLength = Integer.parseInt(value.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid CIDR prefix length: " + cidr, e);
+            }
+            if (prefixLength < 0 || prefixLength > maxLength) {
+                throw new IllegalArgumentException("Invalid CIDR prefix length: " + cidr);
+            }
+            if (network.isIpv4()) {
+                prefixLength += IpKey.IPV4_OFFSET_BITS;
+            }
+        }
+        add(network, prefixLength);
+    }
+
+    public void add(IpKey network, int prefixLength) {
+        int node = 0;
+        for (int depth = 0; depth < prefixLength; depth++) {
+            if (terminal[node]) {
+                return;
+            }
+            int[] children = network.bit(depth) ? one : zero;
+            int next = children[node];
+            if (next == 0) {
+                next = newNode();
+                children = network.bit(depth) ? one : zero;
+                children[node] = next;
+            }
+            node = next;
+        }
+        if (!terminal[node]) {
+            terminal[node] = true;
+            zero[node] = 0;
+            one[node] = 0;
+            prefixes++;
+        }
+    }
+
+    public boolean contains(IpKey ip) {
+        int node = 0;
+        for (int depth = 0; depth < IpKey.BITS; depth++) {
+            if (terminal[node]) {
+                return true;
+            }
+            node = ip.bit(depth) ? one[node] : zero[node];
+            if (node == 0) {
+                return false;
+            }
+        }
+        return terminal[node];
+    }
+
+    public int getPrefixCount() {
+        return prefixes;
+    }
+
+    public int getNodeCount() {
+        return nodes;
+    }
+
+    private int newNode() {
+        if (nodes == terminal.length) {
+            int capacity = nodes * 2;
+            zero = Arrays.copyOf(zero, capacity);
+            one = Arrays.copyOf(one, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        return nodes++;
+    }
+}
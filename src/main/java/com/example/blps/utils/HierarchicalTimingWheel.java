@@ -0,0 +1,104 @@
+package com.example.blps.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+public class HierarchicalTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    private volatile long currentTick;
+
+    public HierarchicalTimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public long maxDelayTicks() {
+        return (1L << (SLOT_BITS * LEVELS)) - 1;
+    }
+
+    public void schedule(long key, long expiryTick) {
+        long delay = Math.min(expiryTick - currentTick, maxDelayTicks());
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((expiryTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        wheels[level][slot].add(key, expiryTick);
+    }
+
+    public synchronized void advanceTo(long tick, LongConsumer onExpired) {
+        while (currentTick < tick) {
+            long next = currentTick + 1;
+            currentTick = next;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((next & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    process(wheels[level][(int) ((next >>> (SLOT_BITS * level)) & SLOT_MASK)], onExpired);
+                }
+            }
+            process(wheels[0][(int) (next & SLOT_MASK)], onExpired);
+        }
+    }
+
+    private void process(Bucket bucket, LongConsumer onExpired) {
+        Bucket.Entries entries = bucket.drain();
+        for (int i = 0; i < entries.size; i++) {
+            if (entries.expiries[i] <= currentTick) {
+                onExpired.accept(entries.keys[i]);
+            } else {
+                schedule(entries.keys[i], entries.expiries[i]);
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] expiries = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private synchronized void add(long key, long expiryTick) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                expiries = Arrays.copyOf(expiries, size * 2);
+            }
+            keys[size] = key;
+            expiries[size] = expiryTick;
+            size++;
+        }
+
+        private synchronized Entries drain() {
+            Entries entries = new Entries(keys, expiries, size);
+            keys = new long[INITIAL_CAPACITY];
+            expiries = new long[INITIAL_CAPACITY];
+            size = 0;
+            return entries;
+        }
+
+        private static final class Entries {
+            private final long[] keys;
+            private final long[] expiries;
+            private final int size;
+
+            private Entries(long[] keys, long[] expiries, int size) {
+                this.keys = keys;
+                this.expiries = expiries;
+                this.size = size;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.blps.utils;
+
+import java.util.Arrays;
+
+public class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("HyperLogLog precision must be in [" + MIN_PRECISION + ", "
+                    + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public static HyperLogLog fromRegisters(int precision, byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        if (registers.length != sketch.registers.length) {
+            throw new IllegalArgumentException("Expected " + sketch.registers.length + " registers, got " + registers.length);
+        }
+        System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+        return sketch;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public synchronized void add(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = hash << precision;
+        int maxRank = Long.SIZE - precision + 1;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining) + 1, maxRank);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog of precision " + other.precision
+                    + " into precision " + precision);
+        }
+        byte[] otherRegisters = other.toRegisters();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (otherRegisters[i] > registers[i]) {
+                    registers[i] = otherRegisters[i];
+                }
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public synchronized byte[] toRegisters() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.blps.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+
+public final class IpKey implements Serializable, Comparable<IpKey> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int BITS = 128;
+    public static final int IPV4_OFFSET_BITS = 96;
+    public static final IpKey UNSPECIFIED = new IpKey(0L, 0L);
+
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFFL << 32;
+    private static final int IPV6_GROUPS = 8;
+
+    private final long hi;
+    private final long lo;
+
+    @JsonCreator
+    public IpKey(@JsonProperty("hi") long hi, @JsonProperty("lo") long lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static IpKey fromString(String ip) {
+        IpKey key = parse(ip);
+        if (key == null) {
+            throw new IllegalArgumentException("Not an IP address: " + ip);
+        }
+        return key;
+    }
+
+    public static IpKey ofIpv4(int address) {
+        return new IpKey(0L, IPV4_MAPPED_PREFIX | (address & 0xFFFFFFFFL));
+    }
+
+    public static IpKey parse(CharSequence text) {
+        return text == null ? null : parse(text, 0, text.length());
+    }
+
+    public static IpKey parse(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start >= end) {
+            return null;
+        }
+
+        if (text.charAt(start) == '[') {
+            int close = indexOf(text, ']', start, end);
+            return close < 0 ? null : parseIpv6(text, start + 1, close);
+        }
+
+        int colon = indexOf(text, ':', start, end);
+        if (colon < 0) {
+            long ipv4 = parseIpv4(text, start, end);
+            return ipv4 < 0 ? null : ofIpv4((int) ipv4);
+        }
+
+        int dot = indexOf(text, '.', start, end);
+        if (dot >= 0 && dot < colon && indexOf(text, ':', colon + 1, end) < 0) {
+            long ipv4 = parseIpv4(text, start, colon);
+            return ipv4 < 0 ? null : ofIpv4((int) ipv4);
+        }
+
+        int zone = indexOf(text, '%', start, end);
+        return parseIpv6(text, start, zone < 0 ? end : zone);
+    }
+
+    public long getHi() {
+        return hi;
+    }
+
+    public long getLo() {
+        return lo;
+    }
+
+    @JsonIgnore
+    public boolean isIpv4() {
+        return hi == 0L && (lo & 0xFFFFFFFF00000000L) == IPV4_MAPPED_PREFIX;
+    }
+
+    public IpKey mask(int prefixLength) {
+        if (prefixLength >= BITS) {
+            return this;
+        }
+        if (prefixLength <= 0) {
+            return UNSPECIFIED;
+        }
+        if (prefixLength <= Long.SIZE) {
+            return new IpKey(hi & (-1L << (Long.SIZE - prefixLength)), 0L);
+        }
+        return new IpKey(hi, lo & (-1L << (BITS - prefixLength)));
+    }
+
+    public boolean bit(int index) {
+        return index < Long.SIZE
+                ? (hi >>> (Long.SIZE - 1 - index) & 1L) != 0
+                : (lo >>> (BITS - 1 - index) & 1L) != 0;
+    }
+
+    @Override
+    public int compareTo(IpKey other) {
+        int result = Long.compareUnsigned(hi, other.hi);
+        return result != 0 ? result : Long.compareUnsigned(lo, other.lo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IpKey other)) {
+            return false;
+        }
+        return hi == other.hi && lo == other.lo;
+    }
+
+    @Override
+    public int hashCode() {
+        long mixed = (hi * 0x9E3779B97F4A7C15L) ^ lo;
+        mixed ^= mixed >>> 32;
+        return (int) (mixed * 0xC2B2AE3D27D4EB4FL >>> 32);
+    }
+
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            StringBuilder builder = new StringBuilder(15);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                builder.append((lo >>> shift) & 0xFF);
+                if (shift > 0) {
+                    builder.append('.');
+                }
+            }
+            return builder.toString();
+        }
+
+        int bestStart = -1;
+        int bestLength = 1;
+        int runStart = -1;
+        for (int i = 0; i <= IPV6_GROUPS; i++) {
+            if (i < IPV6_GROUPS && group(i) == 0) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+            } else if (runStart >= 0) {
+                if (i - runStart > bestLength) {
+                    bestStart = runStart;
+                    bestLength = i - runStart;
+                }
+                runStart = -1;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(39);
+        for (int i = 0; i < IPV6_GROUPS; i++) {
+            if (i == bestStart) {
+                builder.append("::");
+                i += bestLength - 1;
+                continue;
+            }
+            if (builder.length() > 0 && builder.charAt(builder.length() - 1) != ':') {
+                builder.append(':');
+            }
+            builder.append(Integer.toHexString(group(i)));
+        }
+        return builder.toString();
+    }
+
+    private int group(int index) {
+        long word = index < 4 ? hi : lo;
+        return (int) (word >>> (48 - 16 * (index & 3))) & 0xFFFF;
+    }
+
+    private static long parseIpv4(CharSequence text, int start, int end) {
+        long result = 0;
+        int i = start;
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) {
+                if (i >= end || text.charAt(i) != '.') {
+                    return -1;
+                }
+                i++;
+            }
+            int value = 0;
+            int digits = 0;
+            while (i < end && digits < 4) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || value > 255) {
+                return -1;
+            }
+            result = (result << 8) | value;
+        }
+        return i == end ? result : -1;
+    }
+
+    private static IpKey parseIpv6(CharSequence text, int start, int end) {
+        long headHi = 0;
+        long headLo = 0;
+        long tailHi = 0;
+        long tailLo = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = start;
+        if (end - start >= 2 && text.charAt(i) == ':' && text.charAt(i + 1) == ':') {
+            compressed = true;
+            i += 2;
+        } else if (i < end && text.charAt(i) == ':') {
+            return null;
+        }
+
+        while (i < end) {
+            if (headGroups + tailGroups >= IPV6_GROUPS) {
+                return null;
+            }
+            int groupStart = i;
+            int value = 0;
+            int digits = 0;
+            while (i < end && digits <= 4) {
+                int digit = hexDigit(text.charAt(i));
+                if (digit < 0) {
+                    break;
+                }
+                value = (value << 4) | digit;
+                digits++;
+                i++;
+            }
+
+            if (i < end && text.charAt(i) == '.') {
+                if (headGroups + tailGroups > IPV6_GROUPS - 2) {
+                    return null;
+                }
+                long ipv4 = parseIpv4(text, groupStart, end);
+                if (ipv4 < 0) {
+                    return null;
+                }
+                if (compressed) {
+                    tailHi = (tailHi << 32) | (tailLo >>> 32);
+                    tailLo = (tailLo << 32) | ipv4;
+                    tailGroups += 2;
+                } else {
+                    headHi = (headHi << 32) | (headLo >>> 32);
+                    headLo = (headLo << 32) | ipv4;
+                    headGroups += 2;
+                }
+                break;
+            }
+            if (digits == 0 || digits > 4) {
+                return null;
+            }
+
+            if (compressed) {
+                tailHi = (tailHi << 16) | (tailLo >>> 48);
+                tailLo = (tailLo << 16) | value;
+                tailGroups++;
+            } else {
+                headHi = (headHi << 16) | (headLo >>> 48);
+                headLo = (headLo << 16) | value;
+                headGroups++;
+            }
+
+            if (i == end) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == end) {
+                return null;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressed) {
+                    return null;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups >= IPV6_GROUPS : groups != IPV6_GROUPS) {
+            return null;
+        }
+
+        int shift = 16 * (IPV6_GROUPS - headGroups);
+        long hi;
+        long lo;
+        if (shift >= BITS) {
+            hi = 0;
+            lo = 0;
+        } else if (shift >= Long.SIZE) {
+            hi = headLo << (shift - Long.SIZE);
+            lo = 0;
+        } else if (shift > 0) {
+            hi = (headHi << shift) | (headLo >>> (Long.SIZE - shift));
+            lo = headLo << shift;
+        } else {
+            hi = headHi;
+            lo = headLo;
+        }
+        return new IpKey(hi | tailHi, lo | tailLo);
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -3,35 +3,53 @@ package com.example.blps.utils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Enumeration;
+
 @Slf4j
 public class IpUtils {
-    
-    private static final String[] IP_HEADER_CANDIDATES = {
-            "X-Forwarded-For",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-    };
-    
-    public static String getClientIpAddress(HttpServletRequest request) {
-        for (String header : IP_HEADER_CANDIDATES) {
-            String ip = request.getHeader(header);
-            if (ip != null && ip.length() != 0 && !"unknown".equalsIgnoreCase(ip)) {
-                
-                String[] ips = ip.split(",");
-                return ips[0].trim();
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    public static IpKey getClientIpKey(HttpServletRequest request, CidrTrie trustedProxies) {
+        IpKey remoteAddr = IpKey.parse(request.getRemoteAddr());
+        if (remoteAddr == null) {
+            log.debug("Unparseable remote address: {}", request.getRemoteAddr());
+            return IpKey.UNSPECIFIED;
+        }
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        Enumeration<String> forwarded = request.getHeaders(FORWARDED_FOR_HEADER);
+        if (forwarded != null && forwarded.hasMoreElements()) {
+            String chain = forwarded.nextElement();
+            if (forwarded.hasMoreElements()) {
+                StringBuilder joined = new StringBuilder(chain);
+                while (forwarded.hasMoreElements()) {
+                    joined.append(',').append(forwarded.nextElement());
+                }
+                chain = joined.toString();
             }
+            return lastUntrustedHop(chain, remoteAddr, trustedProxies);
         }
-        
-        String remoteAddr = request.getRemoteAddr();
-        log.debug("Client IP resolved to: {}", remoteAddr);
         return remoteAddr;
     }
-}
\ No newline at end of file
+
+    static IpKey lastUntrustedHop(String chain, IpKey previous, CidrTrie trustedProxies) {
+        IpKey client = previous;
+        int end = chain.length();
+        while (end > 0) {
+            int comma = chain.lastIndexOf(',', end - 1);
+            IpKey hop = IpKey.parse(chain, comma + 1, end);
+            if (hop == null) {
+                return client;
+            }
+            if (!trustedProxies.contains(hop)) {
+                return hop;
+            }
+            client = hop;
+            end = comma;
+        }
+        return client;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.blps.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpaceSaving<T> {
+
+    private final int capacity;
+    private final Object[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<T, Integer> positions;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Space-Saving capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(T item, long increment) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            counts[position] += increment;
+            siftDown(position);
+            return;
+        }
+
+        if (size < capacity) {
+            items[size] = item;
+            counts[size] = increment;
+            errors[size] = 0;
+            positions.put(item, size);
+            siftUp(size++);
+            return;
+        }
+
+        long evictedCount = counts[0];
+        positions.remove(items[0]);
+        items[0] = item;
+        errors[0] = evictedCount;
+        counts[0] = evictedCount + increment;
+        positions.put(item, 0);
+        siftDown(0);
+    }
+
+    public synchronized List<Entry<T>> top(int limit) {
+        List<Entry<T>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry<>(item(i), counts[i], errors[i]));
+        }
+        entries.sort(Comparator.comparingLong((Entry<T> entry) -> entry.count).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(items, null);
+        positions.clear();
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int index) {
+        return (T) items[index];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && counts[right] < counts[left] ? right : left;
+            if (counts[index] <= counts[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+
+        positions.put(item(a), a);
+        positions.put(item(b), b);
+    }
+
+    public static final class Entry<T> {
+        private final T item;
+        private final long count;
+        private final long error;
+
+        Entry(T item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.blps;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "referral.token.secret=context-test-referral-secret-0123456789")
 class BlpsApplicationTests {
 
     @Test
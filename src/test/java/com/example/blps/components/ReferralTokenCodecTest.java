@@ -0,0 +1,59 @@
+package com.example.blps.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReferralTokenCodecTest {
+
+    private static final String SECRET = "test-referral-secret-0123456789abcdef";
+
+    private final ReferralTokenCodec codec = new ReferralTokenCodec(SECRET);
+
+    @Test
+    void roundTripsCampaignIds() {
+        for (long id : new long[]{0, 1, 61, 62, 123_456_789L, Long.MAX_VALUE}) {
+            String token = codec.encode(id);
+            assertTrue(codec.isSignedToken(token), token);
+            assertEquals(Optional.of(id), codec.decode(token));
+        }
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = codec.encode(42L);
+        String otherId = codec.encode(43L);
+        String forged = otherId.substring(0, otherId.length() - 7) + token.substring(token.length() - 7);
+        assertEquals(Optional.empty(), codec.decode(forged));
+
+        char last = token.charAt(token.length() - 1);
+        String flipped = token.substring(0, token.length() - 1) + (last == 'a' ? 'b' : 'a');
+        assertEquals(Optional.empty(), codec.decode(flipped));
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherSecret() {
+        ReferralTokenCodec other = new ReferralTokenCodec("another-referral-secret-0123456789abcdef");
+        assertEquals(Optional.empty(), codec.decode(other.encode(42L)));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertEquals(Optional.empty(), codec.decode(null));
+        assertEquals(Optional.empty(), codec.decode("T"));
+        assertEquals(Optional.empty(), codec.decode("T!!!!!!!!!"));
+        assertEquals(Optional.empty(), codec.decode("T" + "z".repeat(30)));
+        assertFalse(codec.isSignedToken("a1b2c3d4e5f6"));
+    }
+
+    @Test
+    void requiresStrongSecret() {
+        assertThrows(IllegalStateException.class, () -> new ReferralTokenCodec(""));
+        assertThrows(IllegalStateException.class, () -> new ReferralTokenCodec("short"));
+    }
+}
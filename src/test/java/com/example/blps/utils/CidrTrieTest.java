@@ -0,0 +1,85 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CidrTrieTest {
+
+    @Test
+    void matchesIpv4Prefixes() {
+        CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/8", "192.168.1.0/24", "203.0.113.7"));
+
+        assertTrue(trie.contains(IpKey.parse("10.255.0.1")));
+        assertTrue(trie.contains(IpKey.parse("192.168.1.200")));
+        assertTrue(trie.contains(IpKey.parse("203.0.113.7")));
+        assertFalse(trie.contains(IpKey.parse("11.0.0.1")));
+        assertFalse(trie.contains(IpKey.parse("192.168.2.1")));
+        assertFalse(trie.contains(IpKey.parse("203.0.113.8")));
+        assertTrue(trie.contains(IpKey.parse("::ffff:10.1.2.3")));
+        assertFalse(trie.contains(IpKey.parse("::a01:203")));
+    }
+
+    @Test
+    void matchesIpv6Prefixes() {
+        CidrTrie trie = CidrTrie.of(List.of("2001:db8::/32", "fe80::/10", "::1/128"));
+
+        assertTrue(trie.contains(IpKey.parse("2001:db8:ffff::1")));
+        assertTrue(trie.contains(IpKey.parse("febf::1")));
+        assertTrue(trie.contains(IpKey.parse("::1")));
+        assertFalse(trie.contains(IpKey.parse("2001:db9::1")));
+        assertFalse(trie.contains(IpKey.parse("fec0::1")));
+        assertFalse(trie.contains(IpKey.parse("::2")));
+        assertFalse(trie.contains(IpKey.parse("10.0.0.1")));
+    }
+
+    @Test
+    void zeroLengthPrefixMatchesEverythingInItsFamily() {
+        CidrTrie ipv4 = CidrTrie.of(List.of("0.0.0.0/0"));
+        assertTrue(ipv4.contains(IpKey.parse("8.8.8.8")));
+        assertFalse(ipv4.contains(IpKey.parse("2001:db8::1")));
+
+        CidrTrie all = CidrTrie.of(List.of("::/0"));
+        assertTrue(all.contains(IpKey.parse("8.8.8.8")));
+        assertTrue(all.contains(IpKey.parse("2001:db8::1")));
+    }
+
+    @Test
+    void coveredPrefixesAreNotStoredTwice() {
+        CidrTrie trie = CidrTrie.of(List.of("10.1.0.0/16", "10.0.0.0/8", "10.2.3.0/24", "10.0.0.0/8"));
+
+        assertEquals(2, trie.getPrefixCount());
+        assertTrue(trie.contains(IpKey.parse("10.1.2.3")));
+        assertTrue(trie.contains(IpKey.parse("10.2.3.4")));
+        assertTrue(trie.contains(IpKey.parse("10.200.0.1")));
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        CidrTrie trie = new CidrTrie();
+        for (int i = 0; i < 256; i++) {
+            trie.add("172.16." + i + ".0/24");
+        }
+
+        assertEquals(256, trie.getPrefixCount());
+        assertTrue(trie.getNodeCount() > 64);
+        assertTrue(trie.contains(IpKey.parse("172.16.255.9")));
+        assertFalse(trie.contains(IpKey.parse("172.17.0.1")));
+    }
+
+    @Test
+    void skipsBlankEntriesAndRejectsInvalidOnes() {
+        CidrTrie trie = CidrTrie.of(Arrays.asList(" 10.0.0.0/8 ", "", null, "  "));
+        assertEquals(1, trie.getPrefixCount());
+
+        for (String cidr : new String[]{"10.0.0.0/33", "2001:db8::/129", "10.0.0.0/-1", "10.0.0.0/x", "nope/8"}) {
+            assertThrows(IllegalArgumentException.class, () -> new CidrTrie().add(cidr));
+        }
+    }
+}
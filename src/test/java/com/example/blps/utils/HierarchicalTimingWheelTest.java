@@ -0,0 +1,66 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void expiresEachKeyExactlyAtItsTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10);
+        long[] delays = {1, 2, 63, 64, 65, 100, 4095, 4096, 4097, 100_000, wheel.maxDelayTicks()};
+        Map<Long, Long> expiries = new HashMap<>();
+        for (long delay : delays) {
+            expiries.put(delay, 10 + delay);
+            wheel.schedule(delay, 10 + delay);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        long end = 10 + wheel.maxDelayTicks();
+        for (long tick = 11; tick <= end; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, key -> firedAt.put(key, now));
+        }
+
+        assertEquals(expiries, firedAt);
+    }
+
+    @Test
+    void delaysBeyondTheWheelSpanStillExpireOnTime() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(0);
+        long expiry = wheel.maxDelayTicks() * 2 + 17;
+        wheel.schedule(7L, expiry);
+
+        List<Long> firedAt = new ArrayList<>();
+        for (long tick = 1; tick <= expiry; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, key -> firedAt.add(now));
+        }
+
+        assertEquals(List.of(expiry), firedAt);
+    }
+
+    @Test
+    void advancingSeveralTicksAtOnceFiresEverythingDue() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(0);
+        for (long key = 1; key <= 500; key++) {
+            wheel.schedule(key, key * 7);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(1_000, fired::add);
+        assertEquals(142, fired.size());
+        assertTrue(fired.stream().allMatch(key -> key * 7 <= 1_000));
+
+        wheel.advanceTo(3_500, fired::add);
+        assertEquals(500, fired.size());
+        assertEquals(3_500, wheel.getCurrentTick());
+    }
+}
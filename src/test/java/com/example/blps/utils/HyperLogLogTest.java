@@ -0,0 +1,83 @@
+package com.example.blps.utils;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog(12).estimate());
+    }
+
+    @Test
+    void estimatesStayWithinThreeStandardErrors() {
+        for (int precision : new int[]{10, 12, 14}) {
+            double tolerance = 3 * 1.04 / Math.sqrt(1 << precision);
+            for (int cardinality : new int[]{100, 1_000, 10_000, 100_000}) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                add(sketch, 0, cardinality);
+                assertWithin(cardinality, sketch.estimate(), tolerance);
+            }
+        }
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        add(sketch, 0, 5_000);
+        long estimate = sketch.estimate();
+        add(sketch, 0, 5_000);
+        assertEquals(estimate, sketch.estimate());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        add(left, 0, 30_000);
+        add(right, 20_000, 50_000);
+        add(union, 0, 50_000);
+
+        left.merge(right);
+
+        assertArrayEquals(union.toRegisters(), left.toRegisters());
+        assertWithin(50_000, left.estimate(), 3 * 1.04 / Math.sqrt(1 << 12));
+    }
+
+    @Test
+    void registersRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog(8);
+        add(sketch, 0, 1_000);
+        HyperLogLog copy = HyperLogLog.fromRegisters(8, sketch.toRegisters());
+        assertEquals(sketch.estimate(), copy.estimate());
+    }
+
+    @Test
+    void rejectsMismatchedPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromRegisters(12, new byte[16]));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+    }
+
+    private static void add(HyperLogLog sketch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            sketch.add(HASH.hashInt(i).asLong());
+        }
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeTolerance) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= relativeTolerance,
+                "estimate " + actual + " for " + expected + " off by " + error);
+    }
+}
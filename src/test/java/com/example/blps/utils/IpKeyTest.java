@@ -0,0 +1,108 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IpKeyTest {
+
+    @Test
+    void parsesIpv4() {
+        IpKey ip = IpKey.parse("192.168.1.10");
+
+        assertTrue(ip.isIpv4());
+        assertEquals("192.168.1.10", ip.toString());
+        assertEquals(IpKey.ofIpv4(0xC0A8010A), ip);
+        assertEquals(ip, IpKey.parse(" 192.168.1.10 "));
+        assertEquals(ip, IpKey.parse("192.168.1.10:8080"));
+        assertEquals(ip, IpKey.parse("x192.168.1.10y", 1, 13));
+    }
+
+    @Test
+    void rejectsMalformedIpv4() {
+        for (String text : new String[]{"", "   ", "abc", "256.1.1.1", "1.2.3", "1.2.3.4.5", "1..2.3",
+                "0001.1.1.1", "1.2.3.4x", "-1.2.3.4"}) {
+            assertNull(IpKey.parse(text), text);
+        }
+        assertNull(IpKey.parse(null));
+    }
+
+    @Test
+    void parsesIpv6() {
+        assertEquals("2001:db8::1", IpKey.parse("2001:db8::1").toString());
+        assertEquals("2001:db8::ff00:42:8329",
+                IpKey.parse("2001:0db8:0000:0000:0000:ff00:0042:8329").toString());
+        assertEquals("::", IpKey.parse("::").toString());
+        assertEquals(IpKey.UNSPECIFIED, IpKey.parse("::"));
+        assertEquals(new IpKey(0L, 1L), IpKey.parse("::1"));
+        assertEquals(new IpKey(0x2001_0db8_0000_0000L, 0L), IpKey.parse("2001:db8::"));
+        assertEquals(IpKey.parse("2001:db8::1"), IpKey.parse("[2001:DB8::1]:443"));
+        assertEquals(IpKey.parse("fe80::1"), IpKey.parse("fe80::1%eth0"));
+        assertFalse(IpKey.parse("2001:db8::1").isIpv4());
+    }
+
+    @Test
+    void treatsIpv4MappedAddressesAsIpv4() {
+        IpKey mapped = IpKey.parse("::ffff:10.0.0.1");
+
+        assertTrue(mapped.isIpv4());
+        assertEquals(IpKey.parse("10.0.0.1"), mapped);
+        assertEquals("10.0.0.1", mapped.toString());
+        assertEquals(IpKey.parse("64:ff9b::c000:201"), IpKey.parse("64:ff9b::192.0.2.1"));
+    }
+
+    @Test
+    void rejectsMalformedIpv6() {
+        for (String text : new String[]{"2001:db8:::1", "1::2::3", ":1", "1:", "1:2:3:4:5:6:7:8:9",
+                "1:2:3:4:5:6:7", "12345::", "g::1", "[::1", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4"}) {
+            assertNull(IpKey.parse(text), text);
+        }
+        assertThrows(IllegalArgumentException.class, () -> IpKey.fromString("not-an-ip"));
+    }
+
+    @Test
+    void compressesOnlyTheLongestZeroRun() {
+        assertEquals("1:0:0:2::3", IpKey.parse("1:0:0:2:0:0:0:3").toString());
+        assertEquals("1:0:2:3:4:5:6:7", IpKey.parse("1:0:2:3:4:5:6:7").toString());
+        assertEquals("1::2:0:0:3", IpKey.parse("1:0:0:0:2:0:0:3").toString());
+    }
+
+    @Test
+    void toStringRoundTrips() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long hi = random.nextInt(4) == 0 ? 0L : random.nextLong();
+            long lo = random.nextInt(4) == 0 ? random.nextLong() & 0xFFFF_0000_FFFFL : random.nextLong();
+            IpKey ip = new IpKey(hi, lo);
+            assertEquals(ip, IpKey.parse(ip.toString()), ip.toString());
+        }
+    }
+
+    @Test
+    void masksAndReadsBits() {
+        IpKey ip = IpKey.parse("192.168.1.77");
+        assertEquals(IpKey.parse("192.168.1.0"), ip.mask(IpKey.IPV4_OFFSET_BITS + 24));
+        assertEquals(ip, ip.mask(IpKey.BITS));
+        assertEquals(IpKey.UNSPECIFIED, ip.mask(0));
+        assertEquals(IpKey.parse("2001:db8::"), IpKey.parse("2001:db8:1234::1").mask(32));
+
+        IpKey high = IpKey.parse("8000::1");
+        assertTrue(high.bit(0));
+        assertFalse(high.bit(1));
+        assertTrue(high.bit(IpKey.BITS - 1));
+    }
+
+    @Test
+    void ordersAsUnsigned() {
+        assertTrue(IpKey.parse("10.0.0.1").compareTo(IpKey.parse("10.0.0.2")) < 0);
+        assertTrue(IpKey.parse("::1").compareTo(IpKey.parse("ffff::")) < 0);
+        assertTrue(IpKey.parse("8000::").compareTo(IpKey.parse("7fff::")) > 0);
+        assertEquals(0, IpKey.parse("::1").compareTo(new IpKey(0L, 1L)));
+    }
+}
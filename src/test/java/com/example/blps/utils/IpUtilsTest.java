@@ -0,0 +1,48 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IpUtilsTest {
+
+    private static final CidrTrie TRUSTED = CidrTrie.of(List.of("10.0.0.0/8", "2001:db8::/32"));
+    private static final IpKey PROXY = IpKey.parse("10.0.0.1");
+
+    @Test
+    void returnsRightmostUntrustedHop() {
+        assertEquals(IpKey.parse("198.51.100.7"),
+                IpUtils.lastUntrustedHop("203.0.113.1, 198.51.100.7, 10.0.0.2", PROXY, TRUSTED));
+        assertEquals(IpKey.parse("2001:db9::5"),
+                IpUtils.lastUntrustedHop("2001:db9::5,2001:db8::1", PROXY, TRUSTED));
+    }
+
+    @Test
+    void ignoresSpoofedHopsLeftOfTheClient() {
+        assertEquals(IpKey.parse("198.51.100.7"),
+                IpUtils.lastUntrustedHop("1.1.1.1, 198.51.100.7", PROXY, TRUSTED));
+    }
+
+    @Test
+    void fallsBackToTheLeftmostTrustedHop() {
+        assertEquals(IpKey.parse("10.0.0.3"), IpUtils.lastUntrustedHop("10.0.0.3, 10.0.0.2", PROXY, TRUSTED));
+        assertEquals(PROXY, IpUtils.lastUntrustedHop("", PROXY, TRUSTED));
+    }
+
+    @Test
+    void stopsAtAnUnparseableHop() {
+        assertEquals(IpKey.parse("10.0.0.2"),
+                IpUtils.lastUntrustedHop("198.51.100.7, unknown, 10.0.0.2", PROXY, TRUSTED));
+        assertEquals(PROXY, IpUtils.lastUntrustedHop("198.51.100.7, ", PROXY, TRUSTED));
+    }
+
+    @Test
+    void acceptsPortsAndBracketsInHops() {
+        assertEquals(IpKey.parse("198.51.100.7"),
+                IpUtils.lastUntrustedHop("198.51.100.7:52311, 10.0.0.2", PROXY, TRUSTED));
+        assertEquals(IpKey.parse("2001:db9::5"),
+                IpUtils.lastUntrustedHop("[2001:db9::5]:443", PROXY, TRUSTED));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesHaveTheirOwnBuckets() {
+        for (long value = 0; value < 128; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue((int) value));
+        }
+    }
+
+    @Test
+    void bucketsAreMonotonicWithBoundedRelativeError() {
+        Random random = new Random(42);
+        long previousValue = 0;
+        int previousIndex = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long value = previousValue + 1 + random.nextInt(1 << Math.min(30, i / 2_000));
+            if (value < 0) {
+                break;
+            }
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+
+            assertTrue(index >= previousIndex, "index must not decrease at " + value);
+            assertTrue(highest >= value, "bucket must contain " + value);
+            assertTrue(highest - value <= value / 64, "relative error too large for " + value);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+
+            previousValue = value;
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    void largestValuesStayInRange() {
+        int index = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(index));
+    }
+
+    @Test
+    void percentilesOfUniformValuesAreWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-9);
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double expected = percentile * 1_000;
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(Math.abs(actual - expected) <= expected / 100, percentile + "th percentile was " + actual);
+        }
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(-5);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.blps.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSaving<String> tracker = new SpaceSaving<>(10);
+        tracker.offer("a", 5);
+        tracker.offer("b", 3);
+        tracker.offer("a", 2);
+        tracker.offer("c", 1);
+
+        List<SpaceSaving.Entry<String>> top = tracker.top(10);
+
+        assertEquals(3, top.size());
+        assertEntry(top.get(0), "a", 7, 0);
+        assertEntry(top.get(1), "b", 3, 0);
+        assertEntry(top.get(2), "c", 1, 0);
+    }
+
+    @Test
+    void evictsTheMinimumAndInheritsItsCount() {
+        SpaceSaving<String> tracker = new SpaceSaving<>(2);
+        tracker.offer("a", 10);
+        tracker.offer("b", 4);
+        tracker.offer("c", 1);
+
+        List<SpaceSaving.Entry<String>> top = tracker.top(2);
+
+        assertEntry(top.get(0), "a", 10, 0);
+        assertEntry(top.get(1), "c", 5, 4);
+    }
+
+    @Test
+    void boundsHoldOnSkewedStreams() {
+        int capacity = 50;
+        SpaceSaving<Integer> tracker = new SpaceSaving<>(capacity);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        long total = 0;
+        for (int i = 0; i < 200_000; i++) {
+            int item = (int) Math.floor(Math.pow(random.nextDouble(), 4) * 10_000);
+            tracker.offer(item, 1);
+            exact.merge(item, 1L, Long::sum);
+            total++;
+        }
+
+        List<SpaceSaving.Entry<Integer>> top = tracker.top(capacity);
+        for (SpaceSaving.Entry<Integer> entry : top) {
+            long actual = exact.get(entry.getItem());
+            assertTrue(entry.getCount() >= actual, "overestimate must not undercount " + entry.getItem());
+            assertTrue(entry.getCount() - entry.getError() <= actual, "guaranteed count too high for " + entry.getItem());
+            assertTrue(entry.getError() <= total / capacity, "error above N/k for " + entry.getItem());
+        }
+
+        long heaviest = exact.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertTrue(top.get(0).getCount() >= heaviest);
+        assertEquals(Integer.valueOf(0), top.get(0).getItem());
+    }
+
+    @Test
+    void topRespectsLimitAndClearEmptiesTracker() {
+        SpaceSaving<String> tracker = new SpaceSaving<>(5);
+        for (String item : new String[]{"a", "b", "c", "d"}) {
+            tracker.offer(item, 1);
+        }
+
+        assertEquals(2, tracker.top(2).size());
+        assertEquals(0, tracker.top(0).size());
+
+        tracker.clear();
+        assertTrue(tracker.top(5).isEmpty());
+        tracker.offer("e", 3);
+        assertEntry(tracker.top(5).get(0), "e", 3, 0);
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving<String>(0));
+    }
+
+    private static <T> void assertEntry(SpaceSaving.Entry<T> entry, T item, long count, long error) {
+        assertEquals(item, entry.getItem());
+        assertEquals(count, entry.getCount());
+        assertEquals(error, entry.getError());
+    }
+}